@@ -1,9 +1,23 @@
 package cathy;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
 import cathy.command.Command;
 import cathy.exception.CathyException;
 import cathy.exception.InvalidTaskTypeException;
+import cathy.storage.Durability;
+import cathy.storage.LoadMode;
 import cathy.storage.Storage;
+import cathy.storage.StorageFormat;
 import cathy.task.Deadline;
 import cathy.task.Event;
 import cathy.task.TaskList;
@@ -40,10 +54,16 @@ import javafx.util.Duration;
  * This class also handles invalid input with custom messages via {@link InvalidTaskTypeException}.
  */
 public class Cathy {
+    /** The task file used by the window and by {@link #main(String[])}. */
+    static final String DEFAULT_DATA_FILE = "data/cathy.txt";
+    private static final String STDIN_ARG = "-";
+    private static final int OUTPUT_BUFFER = 1 << 16;
+
     private final Storage storage;
     private TaskList tasks;
     private final Ui ui;
     private String returnMessage;
+    private boolean isExited;
 
     /**
      * Constructs a new {@code Cathy} instance with a given file path for persistent storage.
@@ -53,13 +73,67 @@ public class Cathy {
     public Cathy(String filePath) {
         ui = new Ui();
         storage = new Storage(filePath);
+        storage.setJournaled(true);
+        storage.setWriteBehind(true);
+        configureStorage(storage);
         try {
-            tasks = new TaskList(storage.load());
+            tasks = newTaskList();
+            storage.loadInto(tasks);
         } catch (Exception e) {
-            tasks = new TaskList();
+            tasks = newTaskList();
+        }
+    }
+
+    /**
+     * Applies the storage settings chosen for this deployment with system properties:
+     * {@code -Dcathy.durability=NONE|PER_SAVE|PERIODIC} sets when saves are forced to disk
+     * (default {@code PER_SAVE}), and {@code -Dcathy.syncIntervalMillis} how often under {@code PERIODIC}.
+     * {@code -Dcathy.format=TEXT|BINARY} sets the format the task file is written in (default {@code TEXT});
+     * either is read back. {@code -Dcathy.loadMode=BUFFERED|BLOCK|PARALLEL} sets how a text task file
+     * is read (default {@code BUFFERED}); the other two suit very large files.
+     */
+    private static void configureStorage(Storage storage) {
+        storage.setLoadMode(enumProperty("cathy.loadMode", LoadMode.class, LoadMode.BUFFERED));
+        storage.setFormat(enumProperty("cathy.format", StorageFormat.class, StorageFormat.TEXT));
+        storage.setDurability(enumProperty("cathy.durability", Durability.class, Durability.PER_SAVE));
+        Long syncInterval = Long.getLong("cathy.syncIntervalMillis");
+        if (syncInterval != null && syncInterval > 0) {
+            storage.setSyncInterval(syncInterval);
         }
     }
 
+    /**
+     * Reads a system property naming one of the constants of {@code type}, ignoring case.
+     * An unset or unknown value gives {@code fallback}.
+     */
+    private static <E extends Enum<E>> E enumProperty(String name, Class<E> type, E fallback) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error reading " + name + ": unknown value " + value + ", using " + fallback);
+            return fallback;
+        }
+    }
+
+    /**
+     * Creates the task list, keeping tasks off the Java heap when started with
+     * {@code -Dcathy.offHeap=true}, for very large task files.
+     */
+    private static TaskList newTaskList() {
+        return Boolean.getBoolean("cathy.offHeap") ? TaskList.offHeap() : new TaskList();
+    }
+
+    /**
+     * Returns the task list. Only use it from the thread that runs {@link #getResponse(String)}.
+     */
+    TaskList getTaskList() {
+        return tasks;
+    }
+
     /**
      * Runs the main program loop:
      * <ol>
@@ -87,20 +161,33 @@ public class Cathy {
     }
 
     /**
-     * Generates a response for the user's chat message.
+     * Generates a response for the user's chat message. Calls must not overlap; the window makes
+     * them one at a time, in the order the messages were sent.
      */
     public String getResponse(String input) {
-        try {
-            Command c = Parser.parse(input);
-            String reply = c.execute(tasks, ui, storage);
-            if (c.isExit()) {
-                // Close the FX app after we return the goodbye text
-                // Delay exit after showing bye message
-                // AI-Assisted 17 September 2025
+        String reply = respond(input);
+        if (isExited) {
+            // Close the FX app after we return the goodbye text
+            // Delay exit after showing bye message
+            // AI-Assisted 17 September 2025
+            // Commands may run off the FX thread, and animations must start on it
+            Platform.runLater(() -> {
                 PauseTransition delay = new PauseTransition(Duration.seconds(1));
                 delay.setOnFinished(event -> Platform.exit());
                 delay.play();
-            }
+            });
+        }
+        return reply;
+    }
+
+    /**
+     * Runs one command and returns the reply, without touching JavaFX.
+     */
+    private String respond(String input) {
+        try {
+            Command c = Parser.parse(input);
+            String reply = c.execute(tasks, ui, storage);
+            isExited = c.isExit();
             return reply;
         } catch (CathyException e) {
             return ui.showError(e.getMessage());
@@ -110,11 +197,44 @@ public class Cathy {
     }
 
     /**
-     * Entry point of the program.
+     * Runs Cathy without a window, for scripts and servers with no display. Reads one command per
+     * line from the script file named by the first argument, or from standard input if there is no
+     * argument or it is {@code -}, and writes each reply to standard output. Stops at {@code bye} or
+     * at the end of the input, and flushes any queued saves before returning.
+     * <p>
+     * Output is buffered and only flushed after each reply when a person is typing at a console,
+     * so piping in thousands of commands is not slowed down by a write per reply. JavaFX is never
+     * started; the window is launched through {@link Launcher} instead.
      *
-     * @param args command-line arguments (ignored)
+     * @param args an optional script file of commands
      */
     public static void main(String[] args) {
-        System.out.println("Hello!");
+        boolean isFromStdin = args.length == 0 || STDIN_ARG.equals(args[0]);
+        boolean isInteractive = isFromStdin && System.console() != null;
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER));
+        Cathy cathy = new Cathy(DEFAULT_DATA_FILE);
+        try (BufferedReader in = isFromStdin
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            if (isInteractive) {
+                out.println(cathy.welcomeMessage());
+                out.flush();
+            }
+            String line;
+            while (!cathy.isExited && (line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                out.println(cathy.respond(line));
+                if (isInteractive) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            out.println("Error reading commands: " + e.getMessage());
+        } finally {
+            cathy.storage.flush();
+            out.flush();
+        }
     }
 }
@@ -0,0 +1,177 @@
+package cathy;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Keeps chat messages that have been evicted from {@link MainWindow}'s history in a fixed-size
+ * file, so that they take no memory but can still be brought back.
+ * <p>
+ * The file is a ring: each message is written after the last one, wrapping around to the start
+ * of the file, and when there is no room the oldest messages are dropped for good. Messages come
+ * back newest first, the order in which a user scrolling up reaches them. Each record is
+ * {@code [length][speaker and flags][UTF-8 text][length]}; the trailing length lets the newest
+ * record be found from its end.
+ * <p>
+ * Not thread-safe; the window only uses it from the JavaFX thread.
+ */
+class ChatArchive implements Closeable {
+    private static final int HEADER_BYTES = Integer.BYTES + 1;
+    private static final int RECORD_OVERHEAD = HEADER_BYTES + Integer.BYTES;
+    private static final int ERROR_FLAG = 0x80;
+
+    private final FileChannel channel;
+    private final long capacity;
+    // Offsets count bytes ever written; the file position is the offset modulo the capacity
+    private long tail; // start of the oldest record
+    private long head; // just past the newest record
+    private int count;
+
+    /**
+     * Creates an empty archive in the given file, replacing anything already there.
+     *
+     * @param file     the file to keep messages in
+     * @param capacity the most bytes the file will hold
+     * @throws IOException if the file cannot be opened
+     */
+    ChatArchive(Path file, long capacity) throws IOException {
+        assert capacity > RECORD_OVERHEAD : "ChatArchive: capacity too small";
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates an empty archive in a new temporary file, deleted when the JVM exits.
+     *
+     * @param capacity the most bytes the file will hold
+     * @return the archive
+     * @throws IOException if the file cannot be created
+     */
+    static ChatArchive inTempFile(long capacity) throws IOException {
+        Path file = Files.createTempFile("cathy-transcript-", ".ring");
+        file.toFile().deleteOnExit();
+        return new ChatArchive(file, capacity);
+    }
+
+    /**
+     * Returns the number of messages in the archive.
+     *
+     * @return the number of messages
+     */
+    int size() {
+        return count;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Adds a message as the newest in the archive, dropping the oldest ones if there is no room.
+     * Text longer than the whole archive is cut short.
+     *
+     * @param message the message to keep
+     * @throws IOException if the file cannot be written
+     */
+    void push(ChatMessage message) throws IOException {
+        byte[] text = message.text() == null ? new byte[0] : message.text().getBytes(UTF_8);
+        int length = (int) Math.min(text.length, capacity - RECORD_OVERHEAD);
+        while (count > 0 && head - tail + length + RECORD_OVERHEAD > capacity) {
+            dropOldest();
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(length + RECORD_OVERHEAD);
+        record.putInt(length).put(flags(message)).put(text, 0, length).putInt(length).flip();
+        write(head, record);
+        head += length + RECORD_OVERHEAD;
+        count++;
+    }
+
+    /**
+     * Removes and returns the newest message in the archive.
+     *
+     * @return the message, or null if the archive is empty
+     * @throws IOException if the file cannot be read
+     */
+    ChatMessage pop() throws IOException {
+        if (count == 0) {
+            return null;
+        }
+        int length = read(head - Integer.BYTES, Integer.BYTES).getInt();
+        long start = head - RECORD_OVERHEAD - length;
+        ByteBuffer record = read(start + Integer.BYTES, 1 + length);
+        int flags = record.get() & 0xFF;
+        String text = UTF_8.decode(record).toString();
+
+        head = start;
+        count--;
+        if (count == 0) {
+            head = 0;
+            tail = 0;
+        }
+        ChatMessage.Speaker speaker = ChatMessage.Speaker.values()[flags & ~ERROR_FLAG];
+        return new ChatMessage(speaker, text, (flags & ERROR_FLAG) != 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static byte flags(ChatMessage message) {
+        return (byte) (message.speaker().ordinal() | (message.isError() ? ERROR_FLAG : 0));
+    }
+
+    private void dropOldest() throws IOException {
+        int length = read(tail, Integer.BYTES).getInt();
+        tail += length + RECORD_OVERHEAD;
+        count--;
+    }
+
+    /**
+     * Writes the buffer at the given offset, wrapping around the end of the file.
+     */
+    private void write(long offset, ByteBuffer src) throws IOException {
+        long position = offset % capacity;
+        while (src.hasRemaining()) {
+            int chunk = (int) Math.min(src.remaining(), capacity - position);
+            ByteBuffer part = src.slice().limit(chunk);
+            while (part.hasRemaining()) {
+                position += channel.write(part, position);
+            }
+            src.position(src.position() + chunk);
+            position %= capacity;
+        }
+    }
+
+    /**
+     * Reads {@code length} bytes from the given offset, wrapping around the end of the file.
+     */
+    private ByteBuffer read(long offset, int length) throws IOException {
+        ByteBuffer dst = ByteBuffer.allocate(length);
+        long position = offset % capacity;
+        while (dst.hasRemaining()) {
+            int chunk = (int) Math.min(dst.remaining(), capacity - position);
+            ByteBuffer part = dst.slice().limit(chunk);
+            while (part.hasRemaining()) {
+                int n = channel.read(part, position);
+                if (n < 0) {
+                    throw new EOFException("Chat archive is shorter than expected");
+                }
+                position += n;
+            }
+            dst.position(dst.position() + chunk);
+            position %= capacity;
+        }
+        return dst.flip();
+    }
+}
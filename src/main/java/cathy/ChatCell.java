@@ -0,0 +1,95 @@
+package cathy;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+
+/**
+ * Shows one {@link ChatMessage} in the chat {@link javafx.scene.control.ListView}.
+ * <p>
+ * The list only creates as many cells as fit on screen and hands them new messages as the user
+ * scrolls, so each cell builds at most one user bubble, one Cathy bubble, one logo and one
+ * "show earlier" button, and then only swaps their text.
+ */
+class ChatCell extends ListCell<ChatMessage> {
+    private static final double LOGO_SIZE = 180.0;
+
+    private final Image userImage;
+    private final Image cathyImage;
+    private final Image logo;
+    private final Runnable onShowEarlier;
+    private DialogBox userBox;
+    private DialogBox cathyBox;
+    private HBox logoBox;
+    private Button earlierButton;
+
+    /**
+     * Creates a cell that shows messages with the given pictures.
+     *
+     * @param userImage     the user's picture
+     * @param cathyImage    Cathy's picture
+     * @param logo          the welcome logo
+     * @param onShowEarlier what to do when the user asks for evicted messages back
+     */
+    ChatCell(Image userImage, Image cathyImage, Image logo, Runnable onShowEarlier) {
+        this.userImage = userImage;
+        this.cathyImage = cathyImage;
+        this.logo = logo;
+        this.onShowEarlier = onShowEarlier;
+        // With no preferred width of its own the cell takes the list's width, so bubbles wrap
+        // instead of scrolling sideways
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean empty) {
+        super.updateItem(message, empty);
+        setText(null);
+        if (empty || message == null) {
+            setGraphic(null);
+            return;
+        }
+
+        switch (message.speaker()) {
+        case LOGO:
+            setGraphic(logoBox());
+            break;
+        case EARLIER:
+            if (earlierButton == null) {
+                earlierButton = new Button(message.text());
+                earlierButton.setOnAction(event -> onShowEarlier.run());
+            }
+            setGraphic(earlierButton);
+            break;
+        case USER:
+            if (userBox == null) {
+                userBox = DialogBox.getUserDialog("", userImage);
+            }
+            userBox.setMessage(message.text(), message.isError());
+            setGraphic(userBox);
+            break;
+        default:
+            if (cathyBox == null) {
+                cathyBox = DialogBox.getCathyDialog("", cathyImage);
+            }
+            cathyBox.setMessage(message.text(), message.isError());
+            setGraphic(cathyBox);
+            break;
+        }
+    }
+
+    private HBox logoBox() {
+        if (logoBox == null) {
+            ImageView logoView = new ImageView(logo);
+            logoView.setFitWidth(LOGO_SIZE);
+            logoView.setFitHeight(LOGO_SIZE);
+            logoView.setPreserveRatio(true);
+            logoBox = new HBox(logoView);
+            logoBox.setAlignment(Pos.CENTER_LEFT);
+        }
+        return logoBox;
+    }
+}
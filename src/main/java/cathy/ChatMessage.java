@@ -0,0 +1,56 @@
+package cathy;
+
+/**
+ * One entry in the chat history shown by {@link MainWindow}. Only these small records are kept for
+ * the whole session; the nodes that show them are created and reused by {@link ChatCell}.
+ *
+ * @param speaker who the entry is from
+ * @param text    the text of the message, empty for the logo
+ * @param isError whether the message reports an error and should be styled as one
+ */
+record ChatMessage(Speaker speaker, String text, boolean isError) {
+    /** Who a chat entry is from. */
+    enum Speaker {
+        /** The welcome logo at the top of the chat. */
+        LOGO,
+        USER,
+        CATHY,
+        /** A placeholder for a reply from Cathy that is still being worked out. */
+        WORKING,
+        /** The button at the top of the chat that brings back evicted messages. */
+        EARLIER
+    }
+
+    /** Prefix that {@link Ui#showError(String)} puts on error messages. */
+    private static final String ERROR_MARKER = "<ERROR>";
+    private static final String WORKING_TEXT = "working\u2026";
+
+    static ChatMessage logo() {
+        return new ChatMessage(Speaker.LOGO, "", false);
+    }
+
+    static ChatMessage fromUser(String text) {
+        return new ChatMessage(Speaker.USER, text, false);
+    }
+
+    /**
+     * Returns a placeholder shown in Cathy's place while a command runs. Each call returns a new
+     * instance, so that the window can find and replace exactly this one.
+     */
+    static ChatMessage working() {
+        return new ChatMessage(Speaker.WORKING, WORKING_TEXT, false);
+    }
+
+    static ChatMessage earlier() {
+        return new ChatMessage(Speaker.EARLIER, "Show earlier messages", false);
+    }
+
+    /**
+     * Returns a reply from Cathy, marked as an error if it starts with the error marker.
+     */
+    static ChatMessage fromCathy(String text) {
+        // AI-ASSIST: ChatGPT (2025-09-17)
+        // If the response starts with our error marker, style the bubble as an error.
+        return new ChatMessage(Speaker.CATHY, text, text != null && text.startsWith(ERROR_MARKER));
+    }
+}
@@ -1,41 +1,59 @@
 package cathy;
 
-import java.io.IOException;
 import java.util.Collections;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ * <p>
+ * The nodes are built in code rather than loaded from FXML, since a new box is needed for every
+ * message and loading FXML each time is far slower than the command it shows.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+    private static final String STYLESHEET = MainWindow.class.getResource("/css/dialog-box.css").toExternalForm();
+    private static final Insets BOX_PADDING = new Insets(15.0, 5.0, 15.0, 5.0);
+    private static final Insets LABEL_MARGIN = new Insets(0, 10.0, 0, 7.0);
+    private static final Insets LABEL_PADDING = new Insets(6.0);
+    private static final double PREF_WIDTH = 400.0;
+    private static final double PICTURE_WIDTH = 78.0;
+    private static final double PICTURE_HEIGHT = 74.0;
+
+    private final Label dialog;
+    private final ImageView displayPicture;
 
     private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        dialog = new Label(text);
+        dialog.setId("dialog");
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.setWrapText(true);
+        dialog.setPadding(LABEL_PADDING);
+        HBox.setMargin(dialog, LABEL_MARGIN);
 
-        dialog.setText(text);
-        displayPicture.setImage(img);
+        displayPicture = new ImageView(img);
+        displayPicture.setId("displayPicture"); // styled by id in dialog-box.css
+        displayPicture.setFitWidth(PICTURE_WIDTH);
+        displayPicture.setFitHeight(PICTURE_HEIGHT);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+
+        setAlignment(Pos.TOP_RIGHT);
+        setMaxWidth(Double.MAX_VALUE);
+        setMaxHeight(Double.MAX_VALUE);
+        setPrefWidth(PREF_WIDTH);
+        setPadding(BOX_PADDING);
+        getStylesheets().add(STYLESHEET);
+        getChildren().addAll(dialog, displayPicture);
     }
 
     /**
@@ -49,6 +67,20 @@ public class DialogBox extends HBox {
         dialog.getStyleClass().add("reply-label");
     }
 
+    /**
+     * Replaces the text of this dialog box, so that a list cell can reuse it for another message.
+     *
+     * @param text    the new text
+     * @param isError whether to style the box as an error
+     */
+    void setMessage(String text, boolean isError) {
+        dialog.setText(text);
+        getStyleClass().remove("error");
+        if (isError) {
+            getStyleClass().add("error");
+        }
+    }
+
     public static DialogBox getUserDialog(String text, Image img) {
         return new DialogBox(text, img);
     }
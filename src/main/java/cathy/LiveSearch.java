@@ -0,0 +1,110 @@
+package cathy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import cathy.command.FindCommand;
+import cathy.task.Task;
+import cathy.task.TaskList;
+
+/**
+ * Finds the tasks that {@code find} would while the user is still typing its keyword.
+ * <p>
+ * Every search gets a ticket from {@link #next()}, and taking a new ticket cancels every earlier
+ * search: a running search checks its ticket as it goes and stops once it is out of date. Matches
+ * are handed over in batches as they are found, so the first ones can be shown before the whole list
+ * has been searched. When the keyword only grew since the last completed search, only that search's
+ * matches are searched again, since a task that does not contain a keyword cannot contain a longer
+ * one that starts with it.
+ * <p>
+ * {@link #run} and {@link #forget()} must be called from one thread at a time, the one that also
+ * changes the task list; {@link #next()} and {@link #isCurrent(long)} may be called from any thread.
+ */
+class LiveSearch {
+    private static final int BATCH_SIZE = 200;
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    private final AtomicLong tickets = new AtomicLong();
+    private String lastKeyword;
+    private List<Task> lastMatches;
+
+    /**
+     * Returns the ticket for a new search, cancelling every earlier one.
+     *
+     * @return the ticket
+     */
+    long next() {
+        return tickets.incrementAndGet();
+    }
+
+    /**
+     * Returns whether the search with the given ticket is still wanted.
+     *
+     * @param ticket the ticket of the search
+     * @return whether no later ticket has been taken
+     */
+    boolean isCurrent(long ticket) {
+        return tickets.get() == ticket;
+    }
+
+    /**
+     * Forgets the matches kept from the last search. Call this before changing the task list.
+     */
+    void forget() {
+        lastKeyword = null;
+        lastMatches = null;
+    }
+
+    /**
+     * Searches for tasks that {@link FindCommand#matches match} the keyword and hands the
+     * matches, as shown in a task list, to {@code sink} in batches, in list order. Stops early
+     * without a final batch if the ticket goes out of date.
+     *
+     * @param ticket  the ticket of this search
+     * @param tasks   the tasks to search
+     * @param keyword the keyword, not empty
+     * @param sink    receives each batch of matches
+     * @return whether the search ran to the end
+     */
+    boolean run(long ticket, TaskList tasks, String keyword, Consumer<List<String>> sink) {
+        String keywordLower = keyword.toLowerCase(Locale.ROOT);
+        List<Task> candidates;
+        if (lastKeyword != null && keywordLower.startsWith(lastKeyword)) {
+            candidates = lastMatches;
+        } else {
+            candidates = tasks.findSubstringCandidates(keywordLower);
+        }
+
+        List<Task> matches = new ArrayList<>();
+        List<String> batch = new ArrayList<>();
+        int checked = 0;
+        for (Task t : candidates) {
+            if (++checked % CANCEL_CHECK_INTERVAL == 0 && !isCurrent(ticket)) {
+                return false;
+            }
+            if (FindCommand.matches(t, keywordLower)) {
+                matches.add(t);
+                batch.add(t.toString());
+                if (batch.size() == BATCH_SIZE) {
+                    if (!isCurrent(ticket)) {
+                        return false;
+                    }
+                    sink.accept(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+        }
+        if (!isCurrent(ticket)) {
+            return false;
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+        lastKeyword = keywordLower;
+        lastMatches = matches;
+        return true;
+    }
+}
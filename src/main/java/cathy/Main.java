@@ -16,7 +16,8 @@ public class Main extends Application {
     private static final double MIN_HEIGHT = 220.0;
     private static final double MIN_WIDTH = 600.0;
 
-    private Cathy cathy = new Cathy("data/cathy.txt");
+    private Cathy cathy = new Cathy(Cathy.DEFAULT_DATA_FILE);
+    private MainWindow mainWindow;
 
     @Override
     public void start(Stage stage) {
@@ -35,10 +36,21 @@ public class Main extends Application {
             stage.setMinHeight(MIN_HEIGHT);
             stage.setMinWidth(MIN_WIDTH);
 
-            fxmlLoader.<MainWindow>getController().setCathy(cathy); // inject the Cathy instance
+            mainWindow = fxmlLoader.getController();
+            mainWindow.setCathy(cathy); // inject the Cathy instance
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Releases what the window holds open once it has closed, whether by {@code bye} or by the user.
+     */
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.close();
+        }
+    }
 }
@@ -1,27 +1,51 @@
 package cathy;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.geometry.Pos;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 
 /**
  * Controller for the main GUI.
+ * <p>
+ * Commands run on a single background thread, so a slow command does not freeze the window, and
+ * since that thread takes them one at a time they still apply in the order they were sent. Each
+ * command shows a "working…" bubble until its reply arrives. Start with
+ * {@code -Dcathy.fxThreadCommands=true} to run commands on the JavaFX thread instead.
+ * <p>
+ * The chat keeps at most {@code -Dcathy.historyCap} messages (1000 by default). Older ones move to a
+ * {@link ChatArchive} on disk, and a button at the top of the chat brings them back a page at a time.
+ * <p>
+ * While the input reads {@code find <keyword>}, the matching tasks are shown above it as the user
+ * types. The search starts once typing pauses, runs on the command thread between commands, and is
+ * cancelled by the next keystroke.
  */
 public class MainWindow extends AnchorPane {
-    private static final double LOGO_SIZE = 180.0;
+    private static final boolean RUNS_COMMANDS_ON_FX_THREAD = Boolean.getBoolean("cathy.fxThreadCommands");
+    private static final int HISTORY_CAP = Math.max(2, Integer.getInteger("cathy.historyCap", 1000));
+    private static final long ARCHIVE_BYTES = 16L << 20;
+    private static final int RESTORE_PAGE = 50;
+    private static final Duration FILTER_DELAY = Duration.millis(150);
+    private static final String FILTER_COMMAND = "find ";
+
     @FXML
-    private ScrollPane scrollPane;
+    private ListView<ChatMessage> dialogList;
     @FXML
-    private VBox dialogContainer;
+    private ListView<String> filterResults;
     @FXML
     private TextField userInput;
     @FXML
@@ -31,10 +55,32 @@ public class MainWindow extends AnchorPane {
             Objects.requireNonNull(this.getClass().getResourceAsStream("/images/user_pfp.png")));
     private final Image cathyImage = new Image(
             Objects.requireNonNull(this.getClass().getResourceAsStream("/images/cathy_pfp.png")));
+    private final Image logo = new Image(
+            Objects.requireNonNull(this.getClass().getResourceAsStream("/images/cathy_welcome.png")));
+    private final Executor commandRunner = RUNS_COMMANDS_ON_FX_THREAD ? Runnable::run
+            : Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "cathy-commands");
+                thread.setDaemon(true); // never keeps the app alive after the window closes
+                return thread;
+            });
+    private final LiveSearch liveSearch = new LiveSearch();
+    private final PauseTransition filterDelay = new PauseTransition(FILTER_DELAY);
+    private ChatArchive archive; // null if evicted messages cannot be kept
 
+    /**
+     * Sets up the chat history as a virtualized list: only the messages on screen get nodes, and
+     * those nodes are reused as the user scrolls, however long the session runs.
+     */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setCellFactory(list -> new ChatCell(userImage, cathyImage, logo, this::showEarlier));
+        try {
+            archive = ChatArchive.inTempFile(ARCHIVE_BYTES);
+        } catch (IOException e) {
+            System.out.println("Error creating chat archive: " + e.getMessage());
+        }
+        userInput.textProperty().addListener((observable, oldText, newText) -> onInputChanged(newText));
+        filterDelay.setOnFinished(event -> startFilter(userInput.getText()));
     }
 
     /**
@@ -42,46 +88,168 @@ public class MainWindow extends AnchorPane {
      */
     public void setCathy(Cathy c) {
         cathy = c;
+        append(ChatMessage.logo(), ChatMessage.fromCathy(cathy.welcomeMessage()));
+    }
 
-        Image logo = new Image(
-                Objects.requireNonNull(this.getClass().getResourceAsStream("/images/cathy_welcome.png")));
+    /**
+     * Closes the chat archive. Call this when the window closes.
+     */
+    public void close() {
+        if (archive == null) {
+            return;
+        }
+        try {
+            archive.close();
+        } catch (IOException e) {
+            System.out.println("Error closing chat archive: " + e.getMessage());
+        }
+        archive = null;
+    }
 
-        // Create an ImageView so we can resize
-        ImageView logoView = new ImageView(logo);
-        logoView.setFitWidth(LOGO_SIZE); // adjust size
-        logoView.setFitHeight(LOGO_SIZE); // adjust size
-        logoView.setPreserveRatio(true);
+    /**
+     * Adds the user's input to the chat history with a placeholder for Cathy's reply, and runs the
+     * command in the background; the reply replaces the placeholder when it is ready. Clears the user
+     * input after processing.
+     */
+    @FXML
+    private void handleUserInput() {
+        String input = userInput.getText();
+        userInput.clear();
 
-        // Wrap inside a DialogBox-like container (or just add directly)
-        HBox logoBox = new HBox(logoView);
-        logoBox.setAlignment(Pos.CENTER_LEFT); // align left
+        ChatMessage placeholder = ChatMessage.working();
+        append(ChatMessage.fromUser(input), placeholder);
+        commandRunner.execute(() -> {
+            liveSearch.forget(); // the command may change the tasks it found
+            String response = cathy.getResponse(input);
+            Platform.runLater(() -> replace(placeholder, ChatMessage.fromCathy(response)));
+        });
+    }
 
-        dialogContainer.getChildren().add(logoBox);
+    /**
+     * Cancels any search for the previous input right away, and schedules one for the new input if
+     * it is a {@code find} command, once typing pauses.
+     */
+    private void onInputChanged(String text) {
+        liveSearch.next();
+        if (filterKeyword(text) == null) {
+            filterDelay.stop();
+            filterResults.getItems().clear();
+            filterResults.setVisible(false);
+            return;
+        }
+        filterDelay.playFromStart();
+    }
 
-        dialogContainer.getChildren().add(
-                DialogBox.getCathyDialog(cathy.welcomeMessage(), cathyImage)
-        );
+    /**
+     * Searches for the keyword of a {@code find} command on the command thread, adding matches to the
+     * filter results as they are found.
+     */
+    private void startFilter(String text) {
+        String keyword = filterKeyword(text);
+        if (keyword == null) {
+            return;
+        }
+        long ticket = liveSearch.next();
+        filterResults.getItems().clear();
+        filterResults.setVisible(true);
+        commandRunner.execute(() -> liveSearch.run(ticket, cathy.getTaskList(), keyword,
+                batch -> Platform.runLater(() -> {
+                    if (liveSearch.isCurrent(ticket)) {
+                        filterResults.getItems().addAll(batch);
+                    }
+                })));
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Cathy's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Returns the keyword if the text is a {@code find} command with one, or null.
      */
-    @FXML
-    private void handleUserInput() {
-        String input = userInput.getText();
-        String response = cathy.getResponse(input);
+    private static String filterKeyword(String text) {
+        String trimmed = text == null ? "" : text.strip();
+        if (!trimmed.toLowerCase(Locale.ROOT).startsWith(FILTER_COMMAND)) {
+            return null;
+        }
+        String keyword = trimmed.substring(FILTER_COMMAND.length()).strip();
+        return keyword.isEmpty() ? null : keyword;
+    }
 
-        DialogBox user = DialogBox.getUserDialog(input, userImage);
-        DialogBox bot = DialogBox.getCathyDialog(response, cathyImage);
+    /**
+     * Replaces a placeholder with the message it was standing in for. Searches from the end, where
+     * the placeholder almost always is.
+     */
+    private void replace(ChatMessage placeholder, ChatMessage message) {
+        List<ChatMessage> items = dialogList.getItems();
+        for (int i = items.size() - 1; i >= 0; i--) {
+            if (items.get(i) == placeholder) {
+                items.set(i, message);
+                break;
+            }
+        }
+        scrollToEnd();
+    }
 
-        // AI-ASSIST: ChatGPT (2025-09-17)
-        // If the response starts with our error marker, style the bubble as an error.
-        if (response != null && (response.startsWith("<ERROR>"))) {
-            bot.getStyleClass().add("error");
+    /**
+     * Adds messages to the end of the chat, moves the oldest to the archive if that takes the chat
+     * over its cap, and scrolls to the end.
+     */
+    private void append(ChatMessage... messages) {
+        List<ChatMessage> items = dialogList.getItems();
+        Collections.addAll(items, messages);
+
+        int first = hasEarlierButton() ? 1 : 0;
+        // A placeholder stays until its reply replaces it, so eviction stops there
+        while (items.size() - first > HISTORY_CAP && items.get(first).speaker() != ChatMessage.Speaker.WORKING) {
+            archive(items.remove(first));
+            if (first == 0 && archive != null && !archive.isEmpty()) {
+                items.add(0, ChatMessage.earlier());
+                first = 1;
+            }
         }
+        scrollToEnd();
+    }
 
-        dialogContainer.getChildren().addAll(user, bot);
-        userInput.clear();
+    private void archive(ChatMessage message) {
+        if (archive == null) {
+            return;
+        }
+        try {
+            archive.push(message);
+        } catch (IOException e) {
+            System.out.println("Error archiving chat history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Brings back the newest page of archived messages, above those already shown. They stay until
+     * the next message pushes the chat over its cap again.
+     */
+    private void showEarlier() {
+        if (archive == null || !hasEarlierButton()) {
+            return;
+        }
+        List<ChatMessage> restored = new ArrayList<>();
+        try {
+            while (restored.size() < RESTORE_PAGE && !archive.isEmpty()) {
+                restored.add(archive.pop());
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading chat history: " + e.getMessage());
+        }
+        Collections.reverse(restored);
+
+        List<ChatMessage> items = dialogList.getItems();
+        items.addAll(1, restored);
+        if (archive.isEmpty()) {
+            items.remove(0);
+        }
+        dialogList.scrollTo(0);
+    }
+
+    private boolean hasEarlierButton() {
+        List<ChatMessage> items = dialogList.getItems();
+        return !items.isEmpty() && items.get(0).speaker() == ChatMessage.Speaker.EARLIER;
+    }
+
+    private void scrollToEnd() {
+        dialogList.scrollTo(dialogList.getItems().size() - 1);
     }
 }
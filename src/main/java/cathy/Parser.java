@@ -3,8 +3,6 @@ package cathy;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 import cathy.command.AddDeadlineCommand;
 import cathy.command.AddEventCommand;
@@ -17,9 +15,11 @@ import cathy.command.ListCommand;
 import cathy.command.MarkCommand;
 import cathy.command.OnCommand;
 import cathy.command.ScheduleCommand;
+import cathy.command.TaskRef;
 import cathy.command.UnmarkCommand;
 import cathy.exception.CathyException;
 import cathy.exception.InvalidDateTimeException;
+import cathy.task.DateTimeParser;
 
 /**
  * Parses raw user input into {@link Command} objects for execution.
@@ -34,15 +34,17 @@ import cathy.exception.InvalidDateTimeException;
  */
 public class Parser {
 
-    private static final DateTimeFormatter[] DT_PATTERNS = new DateTimeFormatter[] {
-        DateTimeFormatter.ISO_LOCAL_DATE_TIME, // 2025-09-15T23:59
-        DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"), // 2025-09-15 2359
-        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm") // 2025-09-15 23:59
-        // date-only handled separately below
+    /** Command words, matched without regard to ASCII case. */
+    private static final String[] COMMAND_WORDS = {
+        "bye", "list", "todo", "deadline", "event", "mark", "unmark", "delete", "on", "find", "sch", "help"
     };
 
     /**
      * Parses a raw user input string and returns the corresponding {@link Command}.
+     * <p>
+     * The input is tokenized in place: the command word, the arguments and the {@code /by},
+     * {@code /from} and {@code /to} segments are located by index, and only the pieces a command
+     * keeps (such as its description) are copied out as strings.
      *
      * @param input the raw input string typed by the user
      * @return a {@link Command} representing the user's intent
@@ -52,16 +54,23 @@ public class Parser {
         if (input == null) {
             throw new CathyException("My brain can't read your mind. Type something.");
         }
-        String trimmed = input.trim();
-        if (trimmed.isEmpty()) {
+        int end = trimEnd(input, 0, input.length());
+        int start = trimStart(input, 0, end);
+        if (start == end) {
             throw new CathyException("My brain can't read your mind. Type something.");
         }
 
-        // Split into command word and arguments
-        String[] parts = trimmed.split("\\s+", 2);
-        String cmd = parts[0].toLowerCase();
-        String args = parts.length > 1 ? parts[1] : "";
+        // Command word up to the first whitespace, then arguments after the whitespace run
+        int wordEnd = start;
+        while (wordEnd < end && !isWhitespace(input.charAt(wordEnd))) {
+            wordEnd++;
+        }
+        int argsStart = wordEnd;
+        while (argsStart < end && isWhitespace(input.charAt(argsStart))) {
+            argsStart++;
+        }
 
+        String cmd = commandWord(input, start, wordEnd);
         switch (cmd) {
         case "bye":
             return new ExitCommand();
@@ -70,49 +79,52 @@ public class Parser {
             return new ListCommand();
 
         case "todo":
-            return new AddToDoCommand(args);
+            return new AddToDoCommand(input.substring(argsStart, end));
 
         case "deadline": {
-            int byIndex = args.indexOf("/by");
-            if (byIndex < 0) {
+            int byAt = input.indexOf("/by", argsStart);
+            if (byAt < 0) {
                 throw new CathyException("Need '/by'. Try: deadline <desc> /by <date or date time>");
             }
 
-            String desc = args.substring(0, byIndex).trim();
-            String byStr = args.substring(byIndex + 3).trim();
-            if (desc.isEmpty() || byStr.isEmpty()) {
+            int descEnd = trimEnd(input, argsStart, byAt);
+            int byStart = trimStart(input, byAt + 3, end);
+            if (descEnd == trimStart(input, argsStart, descEnd) || byStart == end) {
                 throw new CathyException("Fill in both description and /by.");
             }
 
-            ParsedDT p = parseDateTimeOrDate(byStr);
-            LocalDateTime by = p.hasTime()
-                    ? LocalDateTime.of(p.date(), p.time())
-                    : p.date().atTime(23, 59); // default for date-only deadlines
+            LocalDateTime by = parseDateTimeOrDate(input.substring(byStart, end), DateTimeParser.END_OF_DAY);
 
-            return new AddDeadlineCommand(desc, by);
+            return new AddDeadlineCommand(input.substring(trimStart(input, argsStart, descEnd), descEnd), by);
         }
 
         case "event": {
-            int fromAt = args.indexOf("/from");
-            int toAt = args.indexOf("/to");
+            // One pass over the '/' characters finds the first "/from" and the first "/to"
+            int fromAt = -1;
+            int toAt = -1;
+            for (int i = input.indexOf('/', argsStart); i >= 0 && (fromAt < 0 || toAt < 0);
+                    i = input.indexOf('/', i + 1)) {
+                if (fromAt < 0 && input.startsWith("from", i + 1)) {
+                    fromAt = i;
+                } else if (toAt < 0 && input.startsWith("to", i + 1)) {
+                    toAt = i;
+                }
+            }
             if (fromAt < 0 || toAt < 0 || toAt < fromAt) {
                 throw new CathyException("Use: event <desc> /from <date [time]> /to <date [time]>");
             }
 
-            String desc = args.substring(0, fromAt).trim();
-            String fromStr = args.substring(fromAt + 6, toAt).trim();
-            String toStr = args.substring(toAt + 3).trim();
-            if (desc.isEmpty() || fromStr.isEmpty() || toStr.isEmpty()) {
+            int descEnd = trimEnd(input, argsStart, fromAt);
+            int descStart = trimStart(input, argsStart, descEnd);
+            int fromEnd = trimEnd(input, Math.min(fromAt + 6, toAt), toAt);
+            int fromStart = trimStart(input, Math.min(fromAt + 6, toAt), fromEnd);
+            int toStart = trimStart(input, toAt + 3, end);
+            if (descStart == descEnd || fromStart == fromEnd || toStart == end) {
                 throw new CathyException("Missing description/from/to.");
             }
 
-            ParsedDT pf = parseDateTimeOrDate(fromStr);
-            ParsedDT pt = parseDateTimeOrDate(toStr);
-
-            LocalDateTime from = pf.hasTime() ? LocalDateTime.of(pf.date(), pf.time())
-                    : pf.date().atStartOfDay(); // 00:00
-            LocalDateTime to = pt.hasTime() ? LocalDateTime.of(pt.date(), pt.time())
-                    : pt.date().atTime(23, 59); // 23:59
+            LocalDateTime from = parseDateTimeOrDate(input.substring(fromStart, fromEnd), LocalTime.MIDNIGHT);
+            LocalDateTime to = parseDateTimeOrDate(input.substring(toStart, end), DateTimeParser.END_OF_DAY);
 
             if (to.isBefore(from)) {
                 throw new InvalidDateTimeException(
@@ -121,32 +133,31 @@ public class Parser {
                                 + "Try again when you figure out how calendars work.");
             }
 
-            return new AddEventCommand(desc, from, to);
+            return new AddEventCommand(input.substring(descStart, descEnd), from, to);
         }
         case "mark":
-            return new MarkCommand(parseIndex(args));
+            return new MarkCommand(parseRef(input, argsStart, end));
         case "unmark":
-            return new UnmarkCommand(parseIndex(args));
+            return new UnmarkCommand(parseRef(input, argsStart, end));
         case "delete":
-            return new DeleteCommand(parseIndex(args));
+            return new DeleteCommand(parseRef(input, argsStart, end));
         case "on":
-            return new OnCommand(args);
+            return new OnCommand(input.substring(argsStart, end));
         case "find":
-            if (parts.length < 2 || parts[1].trim().isEmpty()) {
+            if (trimStart(input, argsStart, end) == end) {
                 throw new CathyException("Pro tip: 'find' only works if you give me something to find.");
             }
-            String keyword = parts[1].trim();
-            return new cathy.command.FindCommand(keyword);
+            return new cathy.command.FindCommand(input.substring(trimStart(input, argsStart, end), end));
         case "sch":
-            if (args.isBlank()) {
+            if (argsStart == end) {
                 throw new CathyException("'sch' needs a date, not empty air.\n"
                         + "Try: sch YYYY-MM-DD or sch today");
             }
             LocalDate date;
-            if (args.equals("today")) {
+            if (end - argsStart == 5 && input.startsWith("today", argsStart)) {
                 date = LocalDate.now();
             } else {
-                date = LocalDate.parse(args.trim().replace("/", "-"));
+                date = LocalDate.parse(input.substring(trimStart(input, argsStart, end), end).replace("/", "-"));
             }
             return new ScheduleCommand(date);
         case "help":
@@ -158,41 +169,92 @@ public class Parser {
     }
 
     /**
-     * Parses a string argument into a task index.
+     * Returns the command word in {@code [start, end)} of the input, or an empty string if it is not
+     * one Cathy knows. ASCII letters are compared without regard to case.
+     */
+    private static String commandWord(String input, int start, int end) {
+        for (String word : COMMAND_WORDS) {
+            if (word.length() == end - start && input.regionMatches(true, start, word, 0, word.length())
+                    && isAscii(input, start, end)) {
+                return word;
+            }
+        }
+        return "";
+    }
+
+    private static boolean isAscii(String s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether {@code c} is one of the whitespace characters that separate the command word
+     * from its arguments (those matched by {@code \\s} in a regular expression).
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Returns the first index in {@code [from, to)} that {@link String#trim()} would keep, or {@code to}.
+     */
+    private static int trimStart(String s, int from, int to) {
+        while (from < to && s.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * Returns the index just past the last character in {@code [from, to)} that {@link String#trim()}
+     * would keep, or {@code from}.
+     */
+    private static int trimEnd(String s, int from, int to) {
+        while (to > from && s.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    /**
+     * Parses {@code [start, end)} of the input into a task reference: a 1-based task number,
+     * or {@code #} and a task id.
      *
-     * @param args the raw string expected to contain a number
-     * @return the parsed integer index
-     * @throws CathyException if the argument is missing or not a valid integer
+     * @param input the raw input
+     * @param start index of the first character of the argument
+     * @param end   index just past the argument
+     * @return the parsed task reference
+     * @throws CathyException if the argument is missing or not a valid number or id
      */
-    private static int parseIndex(String args) throws CathyException {
+    private static TaskRef parseRef(String input, int start, int end) throws CathyException {
+        int from = trimStart(input, start, end);
+        int to = trimEnd(input, from, end);
         try {
-            return Integer.parseInt(args.trim());
+            if (from < to && input.charAt(from) == '#') {
+                return TaskRef.ofId(Long.parseLong(input, from + 1, to, 10));
+            }
+            return TaskRef.ofNumber(Integer.parseInt(input, from, to, 10));
         } catch (Exception e) {
             throw new CathyException("Sweetie, numbers only. This isn't a spelling bee.\n"
                     + "Use format: [command] [number]");
         }
     }
 
-    private static record ParsedDT(LocalDate date, LocalTime time, boolean hasTime) {}
-
-    private static ParsedDT parseDateTimeOrDate(String raw) throws CathyException {
-        String s = raw.trim().replace("/", "-");
-        // Try date+time formats first
-        for (DateTimeFormatter f : DT_PATTERNS) {
-            try {
-                LocalDateTime dt = LocalDateTime.parse(s, f);
-                return new ParsedDT(dt.toLocalDate(), dt.toLocalTime(), true);
-            } catch (DateTimeParseException ignored) {
-                // ignore
-            }
-        }
-        // Fall back to date-only (ISO date)
-        try {
-            LocalDate d = LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE);
-            return new ParsedDT(d, LocalTime.MIDNIGHT, false);
-        } catch (DateTimeParseException e) {
+    /**
+     * Parses a date/time, or a date alone at {@code dateOnlyTime}.
+     *
+     * @throws CathyException if {@code raw} is in none of the supported formats
+     */
+    private static LocalDateTime parseDateTimeOrDate(String raw, LocalTime dateOnlyTime) throws CathyException {
+        LocalDateTime dt = DateTimeParser.parse(raw, dateOnlyTime);
+        if (dt == null) {
             throw new CathyException("Nope. '" + raw + "' is not a valid date/time.\n"
                     + "Try yyyy-MM-dd HHmm, yyyy-MM-dd HH:mm, or just yyyy-MM-dd.");
         }
+        return dt;
     }
 }
@@ -34,7 +34,7 @@ public class Ui {
                 + "- deadline <task> /by <date> <time>\n"
                 + "- event <task> /from <date> <time> /to <date> <time>\n"
                 + "- list <number> : to see your tasks\n"
-                + "- mark / unmark / delete <number> : to update tasks\n"
+                + "- mark / unmark / delete <number or #id> : to update tasks\n"
                 + "- find <keyword> / on <date> <time> : to search\n"
                 + "- sch <date> <time> : to see schedule on specific date\n"
                 + "- bye : to leave me in peace\n\n"
@@ -58,7 +58,7 @@ public class Ui {
                 + "- deadline <task> /by <date> <time>\n"
                 + "- event <task> /from <date> <time> /to <date> <time>\n"
                 + "- list <number> : to see your tasks\n"
-                + "- mark / unmark / delete <number> : to update tasks\n"
+                + "- mark / unmark / delete <number or #id> : to update tasks\n"
                 + "- find <keyword> / on <date> <time> : to search\n"
                 + "- sch <date> <time> : to see schedule on specific date\n"
                 + "- bye : to leave me in peace\n\n"
@@ -79,8 +79,9 @@ public class Ui {
             return "Wow... nothing. Your life must be thrilling.";
         }
         returnMessage.append("Your tasks, in all their glory.\n" + "Don't pretend you didn't forget some:");
-        for (int i = 0; i < tasks.size(); i++) {
-            returnMessage.append("\n").append(i + 1).append(". ").append(tasks.get(i));
+        int number = 1;
+        for (Task t : tasks.getTasks()) {
+            returnMessage.append("\n").append(number++).append(". ").append(t);
         }
         return returnMessage.toString();
     }
@@ -108,7 +109,7 @@ public class Ui {
      * @param count the new total number of tasks
      */
     public String showAdd(Task t, int count) {
-        return "Fine, I've added to the list:\n"
+        return "Fine, I've added to the list as #" + t.getId() + ":\n"
                 + "  " + t
                 + "\nYou've got " + count + " tasks now. Try not to lose track this time.";
     }
@@ -154,8 +155,9 @@ public class Ui {
             return "No matching tasks. Guess your memory is as bad as your typing.";
         }
         StringBuilder returnMessage = new StringBuilder("Here's what I painfully dug up for you:");
-        for (int i = 0; i < matches.size(); i++) {
-            returnMessage.append("\n").append(i + 1).append(". ").append(matches.get(i));
+        int number = 1;
+        for (Task t : matches.getTasks()) {
+            returnMessage.append("\n").append(number++).append(". ").append(t);
         }
         return returnMessage.toString();
     }
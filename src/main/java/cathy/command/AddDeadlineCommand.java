@@ -54,7 +54,7 @@ public class AddDeadlineCommand extends Command {
         assert storage != null : "Command: storage must not be null";
         Deadline d = new Deadline(description.trim(), by);
         tasks.add(d);
-        storage.save(tasks);
+        storage.saveAdd(tasks, d);
         return ui.showAdd(d, tasks.size());
     }
 }
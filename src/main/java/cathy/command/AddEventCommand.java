@@ -56,7 +56,7 @@ public class AddEventCommand extends Command {
         assert storage != null : "Command: storage must not be null";
         Event e = new Event(description.trim(), from, to);
         tasks.add(e);
-        storage.save(tasks);
+        storage.saveAdd(tasks, e);
         return ui.showAdd(e, tasks.size());
     }
 }
@@ -43,7 +43,7 @@ public class AddToDoCommand extends Command {
         assert storage != null : "Command: storage must not be null";
         ToDo t = new ToDo(description.trim());
         tasks.add(t);
-        storage.save(tasks);
+        storage.saveAdd(tasks, t);
         return ui.showAdd(t, tasks.size());
     }
 }
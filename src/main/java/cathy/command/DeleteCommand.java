@@ -7,15 +7,16 @@ import cathy.task.Task;
 import cathy.task.TaskList;
 
 /**
- * Command that deletes a {@link Task} from the task list by its 1-based index.
+ * Command that deletes a {@link Task} from the task list by its 1-based index or its {@code #id}.
  *
  * <p><strong>Expected input format</strong>:
  * <pre>{@code
  * delete <task number>
+ * delete #<task id>
  * }</pre>
  */
 public class DeleteCommand extends Command {
-    private final int index;
+    private final TaskRef ref;
 
     /**
      * Creates a {@code DeleteCommand}.
@@ -23,7 +24,16 @@ public class DeleteCommand extends Command {
      * @param index the 1-based index of the task to delete.
      */
     public DeleteCommand(int index) {
-        this.index = index;
+        this(TaskRef.ofNumber(index));
+    }
+
+    /**
+     * Creates a {@code DeleteCommand} for a task given by number or by id.
+     *
+     * @param ref the task to delete
+     */
+    public DeleteCommand(TaskRef ref) {
+        this.ref = ref;
     }
 
     /**
@@ -33,18 +43,19 @@ public class DeleteCommand extends Command {
      * @param tasks   the {@link TaskList} to modify
      * @param ui      the {@link Ui} used to display feedback
      * @param storage the {@link Storage} used to save the updated list
-     * @throws CathyException if the index is out of range (≤ 0 or greater than the current list size)
+     * @throws CathyException if no such task exists
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws CathyException {
         assert tasks != null : "Command: tasks must not be null";
         assert ui != null : "Command: ui must not be null";
         assert storage != null : "Command: storage must not be null";
-        if (index <= 0 || index > tasks.size()) {
+        int index = ref.indexIn(tasks);
+        if (index < 0) {
             throw new CathyException("Nice try, but that task doesn't even exist.");
         }
-        Task removed = tasks.removeAt(index - 1);
-        storage.save(tasks);
+        Task removed = tasks.removeAt(index);
+        storage.saveRemove(tasks, removed);
         return ui.showDelete(removed, tasks.size());
     }
 }
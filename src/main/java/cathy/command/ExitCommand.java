@@ -15,15 +15,16 @@ import cathy.task.TaskList;
 public class ExitCommand extends Command {
 
     /**
-     * Shows a farewell message via {@link Ui}. No changes are made to {@link TaskList}
-     * and nothing is persisted to {@link Storage}.
+     * Shows a farewell message via {@link Ui}. No changes are made to {@link TaskList};
+     * any saves still queued in {@link Storage} are flushed to disk before returning.
      *
      * @param tasks   the current task list (unused)
      * @param ui      the user interface for displaying the goodbye message
-     * @param storage the storage handler (unused)
+     * @param storage the storage handler to flush
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) {
+        storage.flush();
         return ui.showBye();
     }
 
@@ -1,5 +1,9 @@
 package cathy.command;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
 import cathy.Ui;
 import cathy.storage.Storage;
 import cathy.task.Task;
@@ -11,6 +15,9 @@ import cathy.task.TaskList;
  * A task is considered a match if its description contains the
  * specified keyword, ignoring case. The command produces a
  * filtered list of tasks and displays the results to the user.
+ * <p>
+ * Keywords of three or more characters have their candidates narrowed down by the task list's
+ * trigram index, and shorter ones by its word index; see {@link TaskList#findSubstringCandidates}.
  */
 public class FindCommand extends Command {
     private final String keywordLower;
@@ -24,21 +31,39 @@ public class FindCommand extends Command {
         if (keyword == null || keyword.trim().isEmpty()) {
             throw new IllegalArgumentException("Keyword must not be empty.");
         }
-        this.keywordLower = keyword.toLowerCase();
+        this.keywordLower = keyword.toLowerCase(Locale.ROOT);
     }
 
     /**
      * Pure helper so tests can assert on results without parsing console output.
      */
     public TaskList filter(TaskList tasks) {
-        TaskList matches = new TaskList();
-        for (int i = 0; i < tasks.size(); i++) {
-            Task t = tasks.get(i);
-            if (t.getDescription().toLowerCase().contains(keywordLower)) {
+        return keep(tasks.findSubstringCandidates(keywordLower));
+    }
+
+    /**
+     * Returns whether a task matches a keyword: whether its description contains the keyword,
+     * ignoring case. Anything else that searches tasks as the user would with find uses this too.
+     *
+     * @param task         the task to check
+     * @param keywordLower the keyword, in lower case
+     * @return whether the task matches
+     */
+    public static boolean matches(Task task, String keywordLower) {
+        return task.getDescription().toLowerCase(Locale.ROOT).contains(keywordLower);
+    }
+
+    /**
+     * Returns the candidates that match the keyword.
+     */
+    private TaskList keep(List<Task> candidates) {
+        List<Task> matches = new ArrayList<>();
+        for (Task t : candidates) {
+            if (matches(t, keywordLower)) {
                 matches.add(t);
             }
         }
-        return matches;
+        return TaskList.viewOf(matches);
     }
 
     @Override
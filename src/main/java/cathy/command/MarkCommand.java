@@ -7,15 +7,16 @@ import cathy.task.Task;
 import cathy.task.TaskList;
 
 /**
- * Command that marks a {@link Task} as done using a 1-based index.
+ * Command that marks a {@link Task} as done using a 1-based index or a {@code #id}.
  *
  * <p><strong>Expected input</strong>:
  * <pre>{@code
  * mark <task number>
+ * mark #<task id>
  * }</pre>
  */
 public class MarkCommand extends Command {
-    private final int index; // 1-based index from user
+    private final TaskRef ref;
 
     /**
      * Creates a {@code MarkCommand}.
@@ -23,7 +24,16 @@ public class MarkCommand extends Command {
      * @param index the 1-based index of the task to mark as done
      */
     public MarkCommand(int index) {
-        this.index = index;
+        this(TaskRef.ofNumber(index));
+    }
+
+    /**
+     * Creates a {@code MarkCommand} for a task given by number or by id.
+     *
+     * @param ref the task to mark as done
+     */
+    public MarkCommand(TaskRef ref) {
+        this.ref = ref;
     }
 
     /**
@@ -33,23 +43,24 @@ public class MarkCommand extends Command {
      * @param tasks   the {@link TaskList} to operate on
      * @param ui      the {@link Ui} used to display feedback
      * @param storage the {@link Storage} used to save the updated list
-     * @throws CathyException if the index is out of range or the task is already marked done
+     * @throws CathyException if no such task exists or the task is already marked done
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws CathyException {
-        if (index <= 0 || index > tasks.size()) {
-            throw new CathyException("Trying to mark task " + index + " as done? Cute.\n"
+        int index = ref.indexIn(tasks);
+        if (index < 0) {
+            throw new CathyException("Trying to mark task " + ref + " as done? Cute.\n"
                     + "You can't just mark imaginary tasks to feel accomplished.");
         }
         assert tasks != null : "Command: tasks must not be null";
         assert ui != null : "Command: ui must not be null";
         assert storage != null : "Command: storage must not be null";
-        Task t = tasks.get(index - 1);
+        Task t = tasks.get(index);
         if (t.getStatusIcon().equals("X")) {
             throw new CathyException("Darling, that task's already done. No need to be an overachiever.");
         }
-        t.markAsDone();
-        storage.save(tasks);
+        t = tasks.setDone(index, true);
+        storage.saveUpdate(tasks, t);
         return ui.showMark(t);
     }
 }
@@ -53,10 +53,7 @@ public class OnCommand extends Command {
             String dateStr = arg.replace("/", "-");
             LocalDate queryDate = LocalDate.parse(dateStr);
 
-            String matches = tasks.getTasks().stream()
-                    .filter(t -> (t instanceof Deadline
-                            && ((Deadline) t).getBy().toLocalDate().isEqual(queryDate))
-                            || (t instanceof Event && occursOn((Event) t, queryDate)))
+            String matches = tasks.datedOn(queryDate).stream()
                     .map(Task::toString)
                     .collect(Collectors.joining("\n  "));
 
@@ -70,11 +67,4 @@ public class OnCommand extends Command {
             throw new CathyException("That date makes no sense. Use yyyy-MM-dd. Try again.");
         }
     }
-
-    private boolean occursOn(Event e, LocalDate date) {
-        LocalDate start = e.getFrom().toLocalDate();
-        LocalDate end = e.getTo().toLocalDate();
-        return (date.isEqual(start) || date.isAfter(start))
-                && (date.isEqual(end) || date.isBefore(end));
-    }
 }
@@ -2,8 +2,8 @@ package cathy.command;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import cathy.Ui;
 import cathy.storage.Storage;
@@ -36,10 +36,8 @@ public class ScheduleCommand extends Command {
     public String execute(TaskList tasks, Ui ui, Storage storage) {
         assert tasks != null && ui != null && storage != null : "Deps must be wired";
 
-        // Build the list of tasks that occur on 'date', pretty-print them, and join with newlines.
-        String lines = tasks.getTasks().stream()
-                .filter(t -> occursOnDate(t, date))
-                .sorted(taskOrder())
+        // Events by start time, then deadlines by due time; both indexes return them in that order.
+        String lines = Stream.concat(tasks.eventsOn(date).stream(), tasks.deadlinesOn(date).stream())
                 .map(t -> "  " + formatForSchedule(t, date))
                 .collect(Collectors.joining("\n"));
 
@@ -49,50 +47,6 @@ public class ScheduleCommand extends Command {
         return "Schedule for " + date + ":\n" + lines;
     }
 
-    /** Returns true if the task should appear on the given date. */
-    private static boolean occursOnDate(Task t, LocalDate d) {
-        if (t instanceof Deadline dl) {
-            return dl.getBy().toLocalDate().isEqual(d);
-        } else if (t instanceof Event ev) {
-            LocalDate s = ev.getFrom().toLocalDate();
-            LocalDate e = ev.getTo().toLocalDate();
-
-            // check d is within [startDate, endDate] inclusive
-            return !d.isBefore(s) && !d.isAfter(e); // inclusive span
-        } else {
-            // To Do has no date; omit from single-day schedule (change if you want them shown)
-            return false;
-        }
-    }
-
-    /** Order: Event by start time, then Deadline by time, then To Do by description. */
-    private static Comparator<Task> taskOrder() {
-        return (a, b) -> {
-            int ra = rank(a);
-            int rb = rank(b);
-            if (ra != rb) {
-                return Integer.compare(ra, rb);
-            }
-            if (a instanceof Event ea && b instanceof Event eb) {
-                return ea.getFrom().compareTo(eb.getFrom());
-            }
-            if (a instanceof Deadline da && b instanceof Deadline db) {
-                return da.getBy().compareTo(db.getBy());
-            }
-            return a.getDescription().compareToIgnoreCase(b.getDescription());
-        };
-    }
-
-    private static int rank(Task t) {
-        if (t instanceof Event) {
-            return 0;
-        }
-        if (t instanceof Deadline) {
-            return 1;
-        }
-        return 2; // To Do (not shown here, but keeps comparator generic)
-    }
-
     /** Format one line for the schedule, showing times when available. */
     private static String formatForSchedule(Task t, LocalDate d) {
         if (t instanceof Event e) {
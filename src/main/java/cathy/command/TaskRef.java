@@ -0,0 +1,58 @@
+package cathy.command;
+
+import cathy.task.TaskList;
+
+/**
+ * Refers to a task either by its 1-based number in the list ({@code 3}) or by its stable id
+ * ({@code #12}). Numbers shift when earlier tasks are deleted; ids never do.
+ */
+public final class TaskRef {
+    private final long value;
+    private final boolean isId;
+
+    private TaskRef(long value, boolean isId) {
+        this.value = value;
+        this.isId = isId;
+    }
+
+    /**
+     * Refers to the task at a 1-based position in the list.
+     *
+     * @param number the 1-based task number
+     * @return the reference
+     */
+    public static TaskRef ofNumber(int number) {
+        return new TaskRef(number, false);
+    }
+
+    /**
+     * Refers to the task with the given id.
+     *
+     * @param id the task id
+     * @return the reference
+     */
+    public static TaskRef ofId(long id) {
+        return new TaskRef(id, true);
+    }
+
+    /**
+     * Finds the referenced task in the list.
+     *
+     * @param tasks the list to look in
+     * @return the zero-based position of the task, or -1 if there is no such task
+     */
+    int indexIn(TaskList tasks) {
+        if (isId) {
+            return tasks.indexOfId(value);
+        }
+        return value > 0 && value <= tasks.size() ? (int) value - 1 : -1;
+    }
+
+    /**
+     * Returns the reference as the user would type it, e.g. {@code 3} or {@code #12}.
+     */
+    @Override
+    public String toString() {
+        return isId ? "#" + value : Long.toString(value);
+    }
+}
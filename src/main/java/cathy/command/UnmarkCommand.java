@@ -7,15 +7,16 @@ import cathy.task.Task;
 import cathy.task.TaskList;
 
 /**
- * Command that marks a {@link Task} as not done using a 1-based index.
+ * Command that marks a {@link Task} as not done using a 1-based index or a {@code #id}.
  *
  * <p><strong>Expected input</strong>:
  * <pre>{@code
  * unmark <task number>
+ * unmark #<task id>
  * }</pre>
  */
 public class UnmarkCommand extends Command {
-    private final int index; // 1-based index from user
+    private final TaskRef ref;
 
     /**
      * Creates a {@code UnmarkCommand}.
@@ -23,7 +24,16 @@ public class UnmarkCommand extends Command {
      * @param index the 1-based index of the task to mark as not done
      */
     public UnmarkCommand(int index) {
-        this.index = index;
+        this(TaskRef.ofNumber(index));
+    }
+
+    /**
+     * Creates a {@code UnmarkCommand} for a task given by number or by id.
+     *
+     * @param ref the task to mark as not done
+     */
+    public UnmarkCommand(TaskRef ref) {
+        this.ref = ref;
     }
 
     /**
@@ -33,23 +43,24 @@ public class UnmarkCommand extends Command {
      * @param tasks   the {@link TaskList} to operate on
      * @param ui      the {@link Ui} used to display feedback
      * @param storage the {@link Storage} used to save the updated list
-     * @throws CathyException if the index is out of range or the task is already marked as not done
+     * @throws CathyException if no such task exists or the task is already marked as not done
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws CathyException {
         assert tasks != null : "Command: tasks must not be null";
         assert ui != null : "Command: ui must not be null";
         assert storage != null : "Command: storage must not be null";
-        if (index <= 0 || index > tasks.size()) {
+        int index = ref.indexIn(tasks);
+        if (index < 0) {
             throw new CathyException("Ah, clever. But no, that task is imaginary.");
         }
-        Task t = tasks.get(index - 1);
+        Task t = tasks.get(index);
         if (t.getStatusIcon().equals(" ")) {
-            throw new CathyException("Task " + index + " is already unmarked..\n"
+            throw new CathyException("Task " + ref + " is already unmarked..\n"
                     + "Stop trying to double negative your way through life.");
         }
-        t.markAsNotDone();
-        storage.save(tasks);
+        t = tasks.setDone(index, false);
+        storage.saveUpdate(tasks, t);
         return ui.showUnmark(t);
     }
 }
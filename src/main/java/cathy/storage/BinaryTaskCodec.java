@@ -0,0 +1,222 @@
+package cathy.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import cathy.task.Deadline;
+import cathy.task.EpochTime;
+import cathy.task.Event;
+import cathy.task.Task;
+import cathy.task.ToDo;
+
+/**
+ * Reads and writes the compact binary task file format, and converts to and from the text format.
+ * <p>
+ * Layout (all numbers big-endian):
+ * <pre>{@code
+ * header:  "CTHY" magic | u16 version | i64 last journal seq | i64 last id given out | i32 task count
+ * task:    u8 flags | i64 id | i32 description length | UTF-8 description | dates
+ * flags:   bits 0-1 = type (0 todo, 1 deadline, 2 event), bit 7 = done
+ * dates:   none (todo) | i64 by (deadline) | i64 from, i64 to (event), in epoch seconds in UTC
+ * }</pre>
+ * Dates are stored to the second, as precisely as a {@link cathy.task.ColumnarTaskStore} keeps them,
+ * so a list is written the same whichever store holds it.
+ * Descriptions are length-prefixed, so they may contain {@code |} or any other character,
+ * and loading needs no string splitting or date parsing.
+ */
+public final class BinaryTaskCodec {
+    static final byte[] MAGIC = {'C', 'T', 'H', 'Y'};
+    static final int VERSION = 1;
+
+    private static final int TYPE_TODO = 0;
+    private static final int TYPE_DEADLINE = 1;
+    private static final int TYPE_EVENT = 2;
+    private static final int TYPE_MASK = 0x03;
+    private static final int DONE_FLAG = 0x80;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BinaryTaskCodec() {
+    }
+
+    /**
+     * Returns whether the file starts with the binary format's magic bytes.
+     *
+     * @param file the file to check
+     * @return true if the file is in the binary format
+     * @throws IOException if the file cannot be read
+     */
+    static boolean isBinary(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] head = in.readNBytes(MAGIC.length);
+            return Arrays.equals(head, MAGIC);
+        }
+    }
+
+    /**
+     * Writes {@code tasks} in the binary format.
+     *
+     * @param out     destination stream; flushed but not closed
+     * @param tasks   tasks to write
+     * @param lastSeq last journal sequence number reflected in {@code tasks}
+     * @param lastId  highest task id the list has given out
+     * @throws IOException if writing fails
+     */
+    static void write(OutputStream out, List<Task> tasks, long lastSeq, long lastId) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        data.write(MAGIC);
+        data.writeShort(VERSION);
+        data.writeLong(lastSeq);
+        data.writeLong(lastId);
+        data.writeInt(tasks.size());
+        for (Task t : tasks) {
+            writeTask(data, t);
+        }
+        data.flush();
+    }
+
+    private static void writeTask(DataOutputStream data, Task t) throws IOException {
+        int flags = t.getStatusIcon().equals("X") ? DONE_FLAG : 0;
+        if (t instanceof Deadline) {
+            flags |= TYPE_DEADLINE;
+        } else if (t instanceof Event) {
+            flags |= TYPE_EVENT;
+        }
+        LocalDateTime[] dates;
+        if (t instanceof Deadline) {
+            dates = new LocalDateTime[] {((Deadline) t).getBy()};
+        } else if (t instanceof Event) {
+            dates = new LocalDateTime[] {((Event) t).getFrom(), ((Event) t).getTo()};
+        } else {
+            dates = new LocalDateTime[0];
+        }
+        byte[] desc = t.getDescription().getBytes(StandardCharsets.UTF_8);
+        data.writeByte(flags);
+        data.writeLong(t.getId());
+        data.writeInt(desc.length);
+        data.write(desc);
+        for (LocalDateTime dt : dates) {
+            data.writeLong(EpochTime.toEpochSecond(dt));
+        }
+    }
+
+    /**
+     * Reads a binary task file into {@code tasks}. A truncated trailing record is dropped.
+     *
+     * @param in   source stream, positioned at the magic bytes
+     * @param sink receives each task in file order
+     * @return the file's header
+     * @throws IOException if the header is invalid or reading fails
+     */
+    static FileHeader read(InputStream in, Consumer<Task> sink) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+        byte[] magic = new byte[MAGIC.length];
+        data.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a binary task file");
+        }
+        int version = data.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary task file version: " + version);
+        }
+        FileHeader header = new FileHeader(data.readLong(), data.readLong());
+        int count = data.readInt();
+        byte[] buf = new byte[256];
+        try {
+            for (int i = 0; i < count; i++) {
+                int flags = data.readUnsignedByte();
+                long id = data.readLong();
+                int len = data.readInt();
+                if (len > buf.length) {
+                    buf = new byte[Math.max(len, buf.length * 2)];
+                }
+                data.readFully(buf, 0, len);
+                String desc = new String(buf, 0, len, StandardCharsets.UTF_8);
+                Task task = readTask(data, flags, desc);
+                task.restoreId(id);
+                sink.accept(task);
+            }
+        } catch (EOFException e) {
+            System.out.println("Skipping truncated record at end of binary task file");
+        }
+        return header;
+    }
+
+    private static Task readTask(DataInputStream data, int flags, String desc) throws IOException {
+        Task task;
+        switch (flags & TYPE_MASK) {
+        case TYPE_TODO:
+            task = new ToDo(desc);
+            break;
+        case TYPE_DEADLINE:
+            task = new Deadline(desc, readDate(data));
+            break;
+        case TYPE_EVENT:
+            LocalDateTime from = readDate(data);
+            task = new Event(desc, from, readDate(data));
+            break;
+        default:
+            throw new IOException("Unknown task type flag: " + flags);
+        }
+        if ((flags & DONE_FLAG) != 0) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    private static LocalDateTime readDate(DataInputStream data) throws IOException {
+        return EpochTime.fromEpochSecond(data.readLong(), 0);
+    }
+
+    /**
+     * Converts a text task file into the binary format. Corrupted lines are skipped.
+     *
+     * @param text   the text file to read
+     * @param binary the binary file to write
+     * @throws IOException if either file cannot be accessed
+     */
+    public static void textToBinary(Path text, Path binary) throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        FileHeader header;
+        try (BufferedReader br = new BufferedReader(new FileReader(text.toFile(), StandardCharsets.UTF_8))) {
+            header = Storage.readText(br, tasks::add);
+        }
+        try (OutputStream out = Files.newOutputStream(binary)) {
+            write(out, tasks, header.getLastSeq(), header.getLastId());
+        }
+    }
+
+    /**
+     * Converts a binary task file into the text format.
+     *
+     * @param binary the binary file to read
+     * @param text   the text file to write
+     * @throws IOException if either file cannot be accessed
+     */
+    public static void binaryToText(Path binary, Path text) throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        FileHeader header;
+        try (InputStream in = Files.newInputStream(binary)) {
+            header = read(in, tasks::add);
+        }
+        long lastSeq = header.getLastSeq();
+        try (OutputStream out = Files.newOutputStream(text)) {
+            Storage.writeText(out, tasks, lastSeq > 0 ? lastSeq : Storage.NO_SEQ, header.getLastId());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package cathy.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import cathy.task.Task;
+
+/**
+ * Streams tasks out of a text task file read in large blocks through a {@link FileChannel}.
+ * <p>
+ * Each block is read into one reusable direct buffer and scanned for line boundaries in place;
+ * each line is decoded by a {@link TaskLineDecoder} without building a line string or splitting it.
+ * Tasks are handed out one at a time, so callers can fill a task list incrementally instead of
+ * collecting the whole file first. Corrupted lines are skipped, as in {@link Storage#load()}.
+ * <p>
+ * The file is not memory-mapped: a mapping stays open until it is garbage collected, and on
+ * Windows an open mapping stops the task file from being replaced or deleted. Closing the reader
+ * releases the file at once.
+ *
+ * <pre>{@code
+ * try (BlockTaskReader reader = new BlockTaskReader(path)) {
+ *     reader.forEachRemaining(tasks::add);
+ * }
+ * }</pre>
+ */
+public class BlockTaskReader implements Iterator<Task>, Closeable {
+    static final int BLOCK_SIZE = 1 << 20; // 1 MiB, grown for longer lines
+    static final int MAX_BLOCK_SIZE = 1 << 28; // 256 MiB, the longest line accepted
+
+    private final FileChannel channel;
+    private final TaskLineDecoder decoder = new TaskLineDecoder();
+    private long fileSize;
+    private ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_SIZE).flip();
+    private long blockStart;
+    private long pos;
+    private final FileHeader header = new FileHeader();
+    private Task next;
+
+    /**
+     * Opens the given text task file for reading.
+     *
+     * @param file the text task file
+     * @throws IOException if the file cannot be opened
+     */
+    public BlockTaskReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+    }
+
+    /**
+     * Returns the sequence number from the file's {@code # seq} header.
+     * Only meaningful once the first task has been read.
+     *
+     * @return the header's sequence number, or 0 if there is none
+     */
+    public long getBaseSeq() {
+        return header.getLastSeq();
+    }
+
+    /**
+     * Returns the highest task id ever given out, from the file's {@code # lastId} header.
+     * Only meaningful once the first task has been read.
+     *
+     * @return the header's id, or 0 if there is none
+     */
+    public long getLastId() {
+        return header.getLastId();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = advance();
+            } catch (IOException e) {
+                System.out.println("Error loading tasks: " + e.getMessage());
+                pos = fileSize;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Task next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Task t = next;
+        next = null;
+        return t;
+    }
+
+    private Task advance() throws IOException {
+        while (pos < fileSize) {
+            int start = (int) (pos - blockStart);
+            int limit = block.limit();
+            int end = start;
+            while (end < limit && block.get(end) != '\n') {
+                end++;
+            }
+            if (end == limit && blockStart + limit < fileSize) {
+                readMore(); // the line goes on past the end of the block
+                continue;
+            }
+            pos = blockStart + end + 1;
+            int lineEnd = end > start && block.get(end - 1) == '\r' ? end - 1 : end;
+            if (lineEnd > start && block.get(start) == '#') {
+                readHeader(start, lineEnd);
+                continue;
+            }
+            try {
+                return decoder.decode(block, start, lineEnd);
+            } catch (Exception e) {
+                System.out.println("Skipping corrupted line: " + decoder.lineText(block, start, lineEnd));
+            }
+        }
+        return null;
+    }
+
+    private void readHeader(int start, int end) {
+        header.read(decoder.lineText(block, start, end));
+    }
+
+    /**
+     * Moves the unread part of the block, from {@code pos} on, to the front and fills the rest from
+     * the file, growing the block if the unread part already fills it.
+     */
+    private void readMore() throws IOException {
+        block.position((int) (pos - blockStart));
+        block.compact();
+        blockStart = pos;
+        if (!block.hasRemaining()) {
+            if (block.capacity() >= MAX_BLOCK_SIZE) {
+                throw new IOException("Line longer than " + MAX_BLOCK_SIZE + " bytes");
+            }
+            ByteBuffer grown = ByteBuffer.allocateDirect(block.capacity() * 2);
+            grown.put(block.flip());
+            block = grown;
+        }
+        block.limit((int) Math.min(block.capacity(), fileSize - blockStart));
+        long readAt = blockStart + block.position();
+        boolean isEnd = false;
+        while (block.hasRemaining() && !isEnd) {
+            int n = channel.read(block, readAt);
+            isEnd = n < 0;
+            readAt += Math.max(n, 0);
+        }
+        block.flip();
+        if (isEnd) {
+            fileSize = readAt; // the file was cut short while being read
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,134 @@
+package cathy.storage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import cathy.task.Task;
+import cathy.task.TaskList;
+
+/**
+ * Folds the {@link Journal} back into the base task file on a background thread.
+ * <p>
+ * Once the journal grows past a record-count or size threshold, the current journal is sealed
+ * (renamed aside, new records go to a fresh journal) and a snapshot of the list is written as the
+ * new base file. The sealed segment is deleted only after the new base file is in place, and the
+ * base file remembers the last sequence number it contains, so a crash at any point leaves the
+ * base file plus the remaining journal records describing the full list.
+ * <p>
+ * Only a {@link TaskList#snapshot()} of the list, which shares the list's tree instead of copying
+ * it, and the seal (a rename) happen before the snapshot is handed to the background thread, so the
+ * UI never waits for the snapshot to be built or written. A task marked done after the snapshot may
+ * already show as done in it; replaying the journal's update record for it gives the same result.
+ */
+class Checkpointer {
+    static final int DEFAULT_MAX_RECORDS = 1000;
+    static final long DEFAULT_MAX_BYTES = 1L << 20; // 1 MiB
+
+    /**
+     * Writes a full snapshot of the task list as the new base file.
+     */
+    interface SnapshotWriter {
+        void write(List<Task> tasks, long lastSeq, long lastId) throws IOException;
+    }
+
+    private final SnapshotWriter writer;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cathy-checkpoint");
+        t.setDaemon(true);
+        return t;
+    });
+    private int maxRecords = DEFAULT_MAX_RECORDS;
+    private long maxBytes = DEFAULT_MAX_BYTES;
+    private volatile Future<?> inFlight;
+
+    /**
+     * Creates a checkpointer that writes snapshots through the given writer.
+     *
+     * @param writer writes the snapshot as the new base file
+     */
+    Checkpointer(SnapshotWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Sets the journal size that triggers a checkpoint.
+     *
+     * @param maxRecords number of records after which the journal is folded
+     * @param maxBytes   journal size in bytes after which the journal is folded
+     */
+    void setThreshold(int maxRecords, long maxBytes) {
+        assert maxRecords > 0 && maxBytes > 0 : "Checkpointer: thresholds must be positive";
+        this.maxRecords = maxRecords;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Starts a background checkpoint if the journal has passed the threshold
+     * and no checkpoint is already running.
+     *
+     * The snapshot is taken on the calling thread; sealing the journal runs on {@code io}, after any
+     * records still queued there, so the sealed segment holds exactly the records in the snapshot.
+     *
+     * @param journal the journal to fold
+     * @param tasks   the current task list, already reflecting every journal record
+     * @param io      runs journal file operations; {@code Runnable::run} when writing synchronously
+     */
+    void maybeCheckpoint(Journal journal, TaskList tasks, Executor io) {
+        if (journal.size() < maxRecords && journal.byteSize() < maxBytes) {
+            return;
+        }
+        if (isRunning()) {
+            return;
+        }
+        long lastSeq = journal.lastSeq();
+        List<Task> snapshot = tasks.snapshot();
+        long lastId = tasks.getLastId();
+        journal.resetCounts();
+        io.execute(() -> {
+            if (isRunning() || !journal.seal()) {
+                return;
+            }
+            inFlight = executor.submit(() -> {
+                try {
+                    writer.write(snapshot, lastSeq, lastId);
+                    journal.deleteSealed();
+                } catch (IOException e) {
+                    // The sealed segment stays on disk and is replayed (and folded) on next load.
+                    System.out.println("Error writing checkpoint: " + e.getMessage());
+                }
+            });
+        });
+    }
+
+    /**
+     * Returns whether a checkpoint is currently being written.
+     *
+     * @return true if a checkpoint is in flight
+     */
+    boolean isRunning() {
+        Future<?> current = inFlight;
+        return current != null && !current.isDone();
+    }
+
+    /**
+     * Blocks until the in-flight checkpoint, if any, has finished.
+     */
+    void awaitIdle() {
+        Future<?> current = inFlight;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("Error writing checkpoint: " + e.getCause().getMessage());
+        }
+    }
+}
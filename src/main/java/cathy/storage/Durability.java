@@ -0,0 +1,21 @@
+package cathy.storage;
+
+/**
+ * How hard {@link Storage} works to make a save survive a crash or power loss.
+ * <p>
+ * Every policy replaces the task file atomically (written to a temporary file, then renamed over
+ * it), so a crash mid-save never leaves a truncated file. The policies differ in when the data is
+ * forced to the storage device, which is what dominates save latency:
+ * <ul>
+ *   <li>{@link #NONE} – never forced; the operating system writes it back in its own time.
+ *       Fastest, but the last few seconds of changes may be lost on power loss.</li>
+ *   <li>{@link #PER_SAVE} – forced before every save returns (the default).</li>
+ *   <li>{@link #PERIODIC} – forced in the background at most once per sync interval,
+ *       so at most one interval of changes is at risk.</li>
+ * </ul>
+ */
+public enum Durability {
+    NONE,
+    PER_SAVE,
+    PERIODIC
+}
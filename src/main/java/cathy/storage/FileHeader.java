@@ -0,0 +1,76 @@
+package cathy.storage;
+
+/**
+ * What a task file records besides its tasks: the last journal sequence number it contains, and the
+ * highest task id its list has ever given out.
+ * <p>
+ * The highest id is kept even after the task that had it is deleted, so that a reloaded list never
+ * gives a deleted task's id to a new task. In text files each value is a comment line before the
+ * tasks ({@code # seq 12}, {@code # lastId 40}); in binary files both are fixed header fields (see
+ * {@link BinaryTaskCodec}). A missing or corrupted value reads as 0.
+ */
+class FileHeader {
+    private long lastSeq;
+    private long lastId;
+
+    /**
+     * Creates an empty header, to be filled by {@link #read(String)}.
+     */
+    FileHeader() {
+    }
+
+    /**
+     * Creates a header with the given values.
+     *
+     * @param lastSeq the last journal sequence number the file contains
+     * @param lastId  the highest task id given out
+     */
+    FileHeader(long lastSeq, long lastId) {
+        this.lastSeq = lastSeq;
+        this.lastId = lastId;
+    }
+
+    long getLastSeq() {
+        return lastSeq;
+    }
+
+    long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Reads a header line of a text task file into this header.
+     *
+     * @param line the line
+     * @return whether the line is a header line; other lines are left alone
+     */
+    boolean read(String line) {
+        if (line.startsWith(Storage.SEQ_HEADER)) {
+            try {
+                lastSeq = Long.parseLong(line.substring(Storage.SEQ_HEADER.length()).trim());
+            } catch (NumberFormatException e) {
+                System.out.println("Corrupted sequence header, replaying whole journal");
+            }
+            return true;
+        }
+        if (line.startsWith(Storage.LAST_ID_HEADER)) {
+            try {
+                lastId = Long.parseLong(line.substring(Storage.LAST_ID_HEADER.length()).trim());
+            } catch (NumberFormatException e) {
+                System.out.println("Corrupted id header, ids of deleted tasks may be given again");
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Takes the larger of each value from {@code other}, for headers read from parts of one file.
+     *
+     * @param other the header to merge in
+     */
+    void merge(FileHeader other) {
+        lastSeq = Math.max(lastSeq, other.lastSeq);
+        lastId = Math.max(lastId, other.lastId);
+    }
+}
@@ -0,0 +1,310 @@
+package cathy.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import cathy.task.Task;
+import cathy.task.TaskList;
+
+/**
+ * Append-only log of task mutations kept next to the main task file.
+ * <p>
+ * Every change is written as one small record instead of rewriting the whole file,
+ * so the cost of a single add, update or delete does not depend on the size of the list.
+ * Records look like:
+ * <pre>{@code
+ * 1 | A | T#7 | 0 | read book        (add, followed by the task line)
+ * 2 | U | #7 | T#7 | 1 | read book   (update of task #7, followed by its new task line)
+ * 3 | D | #7                         (delete task #7)
+ * }</pre>
+ * Updates and deletes name the task by its id, so they apply to the right task even if records
+ * are replayed onto a list whose positions have shifted.
+ * {@link Storage#load()} replays these records on top of the base file.
+ * <p>
+ * A {@link Checkpointer} periodically seals the journal (renames it aside) and folds it into
+ * the base file. The base file records the last sequence number it contains, so records at or
+ * below that number are skipped on replay.
+ * <p>
+ * Building a record (which hands out its sequence number and updates the counts) is separate from
+ * writing it, so records can be built on the thread that changed the list and written later by a
+ * {@link WriteBehindWriter}. File operations ({@link #write(List, boolean)}, {@link #seal()},
+ * {@link #clear()}) must all happen on one thread at a time.
+ */
+class Journal {
+    private static final String SEP = " | ";
+    private static final String SPLIT = " \\| ";
+    private static final String SEALED_SUFFIX = ".old";
+    private static final String ID_PREFIX = "#";
+
+    private final File file;
+    private final File sealedFile;
+    private FileOutputStream stream;
+    private BufferedWriter writer;
+    private long nextSeq = 1;
+    private int recordCount;
+    private long byteCount;
+
+    /**
+     * Creates a journal backed by the given file. Nothing is created on disk until the first append.
+     *
+     * @param path path of the journal file
+     */
+    Journal(String path) {
+        assert path != null : "Journal: path provided";
+        this.file = new File(path);
+        this.sealedFile = new File(path + SEALED_SUFFIX);
+    }
+
+    /**
+     * Builds the record for a task added at the end of the list and assigns it the next sequence number.
+     *
+     * @param t the added task
+     * @return the record line, ready for {@link #write(List, boolean)}
+     */
+    String recordAdd(Task t) {
+        return record("A" + SEP + Storage.formatLine(t));
+    }
+
+    /**
+     * Builds the record replacing a task with its current state.
+     *
+     * @param t the task's new state
+     * @return the record line, ready for {@link #write(List, boolean)}
+     */
+    String recordUpdate(Task t) {
+        return record("U" + SEP + ID_PREFIX + t.getId() + SEP + Storage.formatLine(t));
+    }
+
+    /**
+     * Builds the record for a removed task.
+     *
+     * @param t the removed task
+     * @return the record line, ready for {@link #write(List, boolean)}
+     */
+    String recordRemove(Task t) {
+        return record("D" + SEP + ID_PREFIX + t.getId());
+    }
+
+    private String record(String body) {
+        String line = nextSeq + SEP + body;
+        nextSeq++;
+        recordCount++;
+        byteCount += line.length() + 1;
+        return line;
+    }
+
+    /**
+     * Appends records to the journal file and flushes them with a single write.
+     * Records must be written in the order they were built.
+     *
+     * @param records  record lines built by {@code recordAdd}, {@code recordUpdate} or {@code recordRemove}
+     * @param isForced whether to force the records to the storage device before returning
+     */
+    void write(List<String> records, boolean isForced) {
+        try {
+            if (writer == null) {
+                stream = new FileOutputStream(file, true);
+                writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+            }
+            for (String line : records) {
+                writer.write(line);
+                writer.newLine();
+            }
+            writer.flush();
+            if (isForced) {
+                stream.getChannel().force(false);
+            }
+        } catch (IOException e) {
+            System.out.println("Error writing journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replays the sealed segment (if any) and then the journal on top of {@code tasks}.
+     * Records already contained in the base file are skipped, as are corrupted or out-of-range ones.
+     *
+     * @param tasks   the tasks loaded from the base file; modified in place
+     * @param baseSeq the last sequence number contained in the base file
+     */
+    void replay(TaskList tasks, long baseSeq) {
+        nextSeq = Math.max(nextSeq, baseSeq + 1);
+        replayFile(sealedFile, tasks, baseSeq);
+        replayFile(file, tasks, baseSeq);
+    }
+
+    private void replayFile(File f, TaskList tasks, long baseSeq) {
+        if (!f.exists()) {
+            return;
+        }
+        try (BufferedReader br = new BufferedReader(new FileReader(f, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                try {
+                    apply(line, tasks, baseSeq);
+                } catch (Exception e) {
+                    System.out.println("Skipping corrupted journal record: " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading journal: " + e.getMessage());
+        }
+    }
+
+    private void apply(String line, TaskList tasks, long baseSeq) {
+        String[] head = line.split(SPLIT, 3);
+        long seq = Long.parseLong(head[0]);
+        if (seq <= baseSeq) {
+            return; // already folded into the base file
+        }
+        String body = head[2];
+        switch (head[1]) {
+        case "A":
+            tasks.add(Storage.parseLine(body));
+            break;
+        case "U": {
+            String[] parts = body.split(SPLIT, 2);
+            tasks.set(position(parts[0], tasks), Storage.parseLine(parts[1]));
+            break;
+        }
+        case "D":
+            tasks.removeAt(position(body.trim(), tasks));
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown journal op: " + head[1]);
+        }
+        nextSeq = Math.max(nextSeq, seq + 1);
+        recordCount++;
+        byteCount += line.length() + 1;
+    }
+
+    /**
+     * Resolves the task a record refers to by its id ({@code #7}).
+     */
+    private static int position(String ref, TaskList tasks) {
+        if (!ref.startsWith(ID_PREFIX)) {
+            throw new IllegalArgumentException("Task reference without id: " + ref);
+        }
+        int index0 = tasks.indexOfId(Long.parseLong(ref.substring(ID_PREFIX.length())));
+        if (index0 < 0) {
+            throw new IllegalArgumentException("No task with id " + ref);
+        }
+        return index0;
+    }
+
+    /**
+     * Moves the current journal aside so new records start a fresh file.
+     * Fails if a previously sealed segment has not been folded yet.
+     *
+     * @return true if the journal was sealed
+     */
+    boolean seal() {
+        if (sealedFile.exists() || !file.exists()) {
+            return false;
+        }
+        close();
+        if (!file.renameTo(sealedFile)) {
+            System.out.println("Error sealing journal: " + file);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether a sealed segment is still waiting to be folded into the base file.
+     *
+     * @return true if a sealed segment exists
+     */
+    boolean hasSealed() {
+        return sealedFile.exists();
+    }
+
+    /**
+     * Deletes the sealed segment once the base file contains all of its records.
+     */
+    void deleteSealed() {
+        if (sealedFile.exists() && !sealedFile.delete()) {
+            System.out.println("Error deleting sealed journal: " + sealedFile);
+        }
+    }
+
+    /**
+     * Empties the journal, including any sealed segment.
+     * Called once the base file holds every change recorded so far.
+     */
+    void clear() {
+        close();
+        if (file.exists() && !file.delete()) {
+            System.out.println("Error clearing journal: " + file);
+        }
+        deleteSealed();
+    }
+
+    /**
+     * Restarts the record and byte counts, once the records counted so far are on their way into
+     * the base file.
+     */
+    void resetCounts() {
+        recordCount = 0;
+        byteCount = 0;
+    }
+
+    /**
+     * Returns the number of records in the current (unsealed) journal.
+     *
+     * @return the record count
+     */
+    int size() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the approximate size in bytes of the current (unsealed) journal.
+     *
+     * @return the size in bytes
+     */
+    long byteSize() {
+        return byteCount;
+    }
+
+    /**
+     * Returns the sequence number of the most recent record.
+     *
+     * @return the last sequence number handed out, or the base file's if none since
+     */
+    long lastSeq() {
+        return nextSeq - 1;
+    }
+
+    /**
+     * Closes the underlying writer, if open. A later append reopens it.
+     */
+    void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.out.println("Error closing journal: " + e.getMessage());
+        }
+        writer = null;
+        stream = null;
+    }
+
+    /**
+     * Returns the journal file.
+     *
+     * @return the path of the (unsealed) journal
+     */
+    Path path() {
+        return file.toPath();
+    }
+}
@@ -0,0 +1,18 @@
+package cathy.storage;
+
+/**
+ * Strategies for reading a text task file on load.
+ * <ul>
+ *   <li>{@link #BUFFERED} – reads line by line with a {@link java.io.BufferedReader}. Fine for everyday lists.</li>
+ *   <li>{@link #BLOCK} – scans large blocks of the file without per-line strings (see {@link BlockTaskReader}).
+ *   Meant for very large archives.</li>
+ *   <li>{@link #PARALLEL} – decodes newline-aligned chunks of the file on a fork/join pool
+ *   (see {@link ParallelTaskLoader}), keeping the original task order.</li>
+ * </ul>
+ * Binary task files are always read with {@link BinaryTaskCodec}.
+ */
+public enum LoadMode {
+    BUFFERED,
+    BLOCK,
+    PARALLEL
+}
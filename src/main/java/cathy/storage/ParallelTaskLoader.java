@@ -0,0 +1,176 @@
+package cathy.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import cathy.task.Task;
+
+/**
+ * Loads a text task file by decoding newline-aligned chunks in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * The file is cut into chunks at line boundaries, each chunk is read into its own buffer and decoded
+ * by its own {@link TaskLineDecoder} (corrupted lines are skipped per chunk), and the per-chunk results
+ * are handed to the caller in file order, so task numbering is the same as with a sequential load.
+ * Chunks are read rather than memory-mapped, for the reason given in {@link BlockTaskReader}.
+ */
+class ParallelTaskLoader {
+    private static final long MIN_CHUNK_SIZE = 1L << 20; // 1 MiB
+    private static final long MAX_CHUNK_SIZE = 1L << 24; // 16 MiB
+    private static final int READ_SIZE = 1 << 20; // bounds the JDK's temporary direct buffer per read
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int PROBE_SIZE = 4096;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a loader that runs on the common fork/join pool.
+     */
+    ParallelTaskLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a loader that runs on the given pool.
+     *
+     * @param pool the pool to decode chunks on
+     */
+    ParallelTaskLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Decodes the file and passes every task to {@code sink}, in file order, on the calling thread.
+     *
+     * @param file the text task file
+     * @param sink receives each task
+     * @return the file's header
+     * @throws IOException if the file cannot be read
+     */
+    FileHeader load(Path file, Consumer<Task> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            int chunks = bounds.length - 1;
+            List<List<Task>> results = new ArrayList<>(Collections.nCopies(chunks, List.of()));
+            FileHeader[] headers = new FileHeader[chunks];
+            pool.invoke(new DecodeChunks(channel, bounds, results, headers, 0, chunks));
+
+            FileHeader header = new FileHeader();
+            for (int i = 0; i < chunks; i++) {
+                results.get(i).forEach(sink);
+                if (headers[i] != null) {
+                    header.merge(headers[i]);
+                }
+            }
+            return header;
+        }
+    }
+
+    /**
+     * Picks chunk boundaries, each just past a newline, so that no line is split between chunks.
+     *
+     * @return sorted offsets, starting at 0 and ending at the file size
+     */
+    private long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int wanted = (int) Math.max(1, Math.min(
+                (long) pool.getParallelism() * CHUNKS_PER_THREAD, size / MIN_CHUNK_SIZE));
+        wanted = (int) Math.max(wanted, (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+
+        ArrayList<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        for (int k = 1; k < wanted; k++) {
+            long at = nextLineStart(channel, k * (size / wanted));
+            if (at > bounds.get(bounds.size() - 1) && at < size) {
+                bounds.add(at);
+            }
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long nextLineStart(FileChannel channel, long from) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+        long pos = from;
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, pos);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+    }
+
+    /**
+     * Decodes chunks {@code [lo, hi)}, splitting the range in half until a single chunk is left.
+     */
+    private static class DecodeChunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final List<List<Task>> results;
+        private final FileHeader[] headers;
+        private final int lo;
+        private final int hi;
+
+        DecodeChunks(FileChannel channel, long[] bounds, List<List<Task>> results, FileHeader[] headers,
+                int lo, int hi) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.results = results;
+            this.headers = headers;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new DecodeChunks(channel, bounds, results, headers, lo, mid),
+                        new DecodeChunks(channel, bounds, results, headers, mid, hi));
+                return;
+            }
+            ArrayList<Task> tasks = new ArrayList<>();
+            try {
+                ByteBuffer buf = readChunk(bounds[lo], bounds[lo + 1]);
+                headers[lo] = new TaskLineDecoder().decodeAll(buf, 0, buf.limit(), tasks::add);
+            } catch (IOException e) {
+                System.out.println("Error loading tasks: " + e.getMessage());
+            }
+            results.set(lo, tasks);
+        }
+
+        /**
+         * Reads {@code [start, end)} of the file into a new heap buffer, a slice at a time.
+         * Stops early if the file turns out to be shorter.
+         */
+        private ByteBuffer readChunk(long start, long end) throws IOException {
+            ByteBuffer buf = ByteBuffer.allocate((int) (end - start));
+            while (buf.hasRemaining()) {
+                ByteBuffer slice = buf.slice().limit(Math.min(buf.remaining(), READ_SIZE));
+                int n = channel.read(slice, start + buf.position());
+                if (n < 0) {
+                    break;
+                }
+                buf.position(buf.position() + n);
+            }
+            return buf.flip();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package cathy.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forces recently written files to the storage device on a background timer,
+ * for {@link Durability#PERIODIC}.
+ * <p>
+ * Writers only mark a file dirty; a daemon thread forces every dirty file once per interval.
+ * Forcing any handle to a file syncs the file's data, so the syncer opens its own channel and
+ * does not need the writer's. Each dirty file's directory is synced in the same pass, so a file
+ * renamed into place since the last sync (such as a new task file) is durable under its new name.
+ */
+class PeriodicSyncer {
+    static final long DEFAULT_INTERVAL_MILLIS = 1000;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "cathy-fsync");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Set<Path> dirty = new LinkedHashSet<>();
+    private long intervalMillis = DEFAULT_INTERVAL_MILLIS;
+    private ScheduledFuture<?> timer;
+
+    /**
+     * Sets how often dirty files are forced. Takes effect from the next interval.
+     *
+     * @param intervalMillis the interval in milliseconds
+     */
+    synchronized void setInterval(long intervalMillis) {
+        assert intervalMillis > 0 : "PeriodicSyncer: interval must be positive";
+        this.intervalMillis = intervalMillis;
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+    }
+
+    /**
+     * Marks a file as written since the last sync, starting the timer if needed.
+     *
+     * @param file the file to force at the end of the interval
+     */
+    synchronized void markDirty(Path file) {
+        dirty.add(file);
+        if (timer == null) {
+            timer = executor.scheduleWithFixedDelay(this::syncNow, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Forces every dirty file right away, then the directories they are in. Files that no longer
+     * exist are skipped.
+     */
+    void syncNow() {
+        Path[] files;
+        synchronized (this) {
+            files = dirty.toArray(new Path[0]);
+            dirty.clear();
+        }
+        Set<Path> dirs = new LinkedHashSet<>();
+        for (Path file : files) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            } catch (NoSuchFileException e) {
+                // Renamed or deleted since it was written; whatever replaced it is tracked separately.
+            } catch (IOException e) {
+                System.out.println("Error syncing " + file + ": " + e.getMessage());
+            }
+            dirs.add(file.toAbsolutePath().getParent());
+        }
+        for (Path dir : dirs) {
+            Storage.syncDirectory(dir);
+        }
+    }
+}
@@ -3,10 +3,22 @@ package cathy.storage;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 import cathy.task.Deadline;
 import cathy.task.Event;
@@ -19,10 +31,41 @@ import cathy.task.ToDo;
  * <p>
  * Supports loading tasks at startup and saving tasks whenever the list changes.
  * Level 7 minimal implementation.
+ * <p>
+ * In journaled mode (see {@link #setJournaled(boolean)}), single-task changes are appended to a
+ * {@link Journal} next to the task file instead of rewriting the whole file, and {@link #load()}
+ * replays that journal on top of the base file. A background {@link Checkpointer} folds the
+ * journal back into the base file once it grows large, so startup replay stays bounded.
+ * <p>
+ * The base file is written as text by default, or in the compact {@link StorageFormat#BINARY}
+ * format (see {@link BinaryTaskCodec}); either format is recognised on load. Text files can be
+ * read line by line or, for very large files, in large blocks by a {@link BlockTaskReader}
+ * or in parallel chunks (see {@link LoadMode}).
+ * <p>
+ * In write-behind mode (see {@link #setWriteBehind(boolean)}), saving only queues the change and
+ * returns; a {@link WriteBehindWriter} thread writes it shortly after, coalescing bursts of changes
+ * into one write. Call {@link #flush()} to wait until everything queued is on disk.
+ * <p>
+ * The task file is always replaced atomically through a temporary file. How often writes are
+ * forced to the storage device is set by the {@link Durability} policy.
  */
 public class Storage {
     private static final String SEP = " \\| "; // Separation
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String TEMP_SUFFIX = ".tmp";
+    static final String SEQ_HEADER = "# seq ";
+    static final String LAST_ID_HEADER = "# lastId ";
+    static final char ID_MARK = '#';
+    static final long NO_SEQ = -1;
     private final String filePath;
+    private final Checkpointer checkpointer = new Checkpointer(
+            (tasks, lastSeq, lastId) -> writeSnapshot(tasks, lastSeq, lastId, true));
+    private final PeriodicSyncer syncer = new PeriodicSyncer();
+    private Journal journal;
+    private StorageFormat format = StorageFormat.TEXT;
+    private LoadMode loadMode = LoadMode.BUFFERED;
+    private WriteBehindWriter writeBehind;
+    private Durability durability = Durability.PER_SAVE;
 
     /**
      * Constructs a Storage object with the given file path.
@@ -37,33 +80,216 @@ public class Storage {
         file.getParentFile().mkdirs();
     }
 
+    /**
+     * Turns journaled mode on or off. Should be called before {@link #load()} so that
+     * any existing journal is replayed.
+     *
+     * @param isJournaled whether single-task changes should be appended to the journal
+     */
+    public void setJournaled(boolean isJournaled) {
+        if (isJournaled && journal == null) {
+            journal = new Journal(filePath + JOURNAL_SUFFIX);
+        } else if (!isJournaled && journal != null) {
+            flush();
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /**
+     * Returns whether single-task changes are appended to the journal.
+     *
+     * @return true if journaled mode is on
+     */
+    public boolean isJournaled() {
+        return journal != null;
+    }
+
+    /**
+     * Turns write-behind mode on or off. When on, saves are queued to a background writer thread
+     * and changes made within a short window are written together. Turning it off writes out
+     * anything still queued.
+     *
+     * @param isWriteBehind whether saves should be written in the background
+     */
+    public void setWriteBehind(boolean isWriteBehind) {
+        if (isWriteBehind && writeBehind == null) {
+            writeBehind = new WriteBehindWriter(this::writeJournal, WriteBehindWriter.DEFAULT_WINDOW_MILLIS);
+        } else if (!isWriteBehind && writeBehind != null) {
+            writeBehind.close();
+            writeBehind = null;
+        }
+    }
+
+    /**
+     * Sets when saved data is forced to the storage device.
+     *
+     * @param durability the fsync policy
+     */
+    public void setDurability(Durability durability) {
+        assert durability != null : "Storage: durability provided";
+        this.durability = durability;
+    }
+
+    /**
+     * Sets how often data is forced to the storage device under {@link Durability#PERIODIC}.
+     *
+     * @param intervalMillis the sync interval in milliseconds
+     */
+    public void setSyncInterval(long intervalMillis) {
+        syncer.setInterval(intervalMillis);
+    }
+
+    /**
+     * Blocks until every save queued in write-behind mode has been written, and under
+     * {@link Durability#PERIODIC} forces anything written since the last sync.
+     * Saves are otherwise written before they return.
+     */
+    public void flush() {
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
+        if (durability == Durability.PERIODIC) {
+            syncer.syncNow();
+        }
+    }
+
+    /**
+     * Sets the format used the next time the task file is written.
+     *
+     * @param format the on-disk format
+     */
+    public void setFormat(StorageFormat format) {
+        assert format != null : "Storage: format provided";
+        this.format = format;
+    }
+
+    /**
+     * Sets how text task files are read on load.
+     *
+     * @param loadMode the reading strategy
+     */
+    public void setLoadMode(LoadMode loadMode) {
+        assert loadMode != null : "Storage: load mode provided";
+        this.loadMode = loadMode;
+    }
+
+    /**
+     * Sets how large the journal may grow before it is folded into the base file.
+     *
+     * @param maxRecords number of journal records that triggers a checkpoint
+     * @param maxBytes   journal size in bytes that triggers a checkpoint
+     */
+    public void setCheckpointThreshold(int maxRecords, long maxBytes) {
+        checkpointer.setThreshold(maxRecords, maxBytes);
+    }
+
+    /**
+     * Blocks until any background checkpoint has finished writing.
+     */
+    void awaitCheckpoint() {
+        checkpointer.awaitIdle();
+    }
+
     /**
      * Loads tasks from the file.
      * Each task is reconstructed according to its type (ToDo, Deadline, Event) and done status.
-     * Corrupted lines are skipped.
+     * Corrupted lines are skipped. In journaled mode the journal is replayed afterwards,
+     * and a journal segment left behind by an interrupted checkpoint is folded in right away.
      *
      * @return an ArrayList of Task objects loaded from the file
      */
     public ArrayList<Task> load() {
-        ArrayList<Task> tasks = new ArrayList<>();
+        TaskList tasks = new TaskList();
+        loadInto(tasks);
+        return new ArrayList<>(tasks.getTasks());
+    }
+
+    /**
+     * Loads tasks from the file straight into {@code tasks}, adding them one at a time as they are read.
+     * Behaves like {@link #load()} otherwise, but also restores the list's highest id given out, so
+     * ids of tasks deleted before the last save are not given to new tasks.
+     *
+     * @param tasks the list to fill; normally empty
+     */
+    public void loadInto(TaskList tasks) {
+        flush();
+        FileHeader header = loadBase(tasks::add);
+        tasks.restoreLastId(header.getLastId());
+        if (journal != null) {
+            journal.replay(tasks, header.getLastSeq());
+            if (journal.hasSealed()) {
+                try {
+                    writeSnapshot(tasks.getTasks(), journal.lastSeq(), tasks.getLastId(), true);
+                    journal.clear();
+                    journal.resetCounts();
+                } catch (IOException e) {
+                    System.out.println("Error writing checkpoint: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the base file, passing each task to {@code sink} as soon as it is decoded.
+     *
+     * @return the file's header; empty if the file has none
+     */
+    private FileHeader loadBase(Consumer<Task> sink) {
         File file = new File(filePath);
+        FileHeader header = new FileHeader();
         if (!file.exists()) {
-            return tasks; // file doesn't exist yet
+            return header; // file doesn't exist yet
         }
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                try {
-                    tasks.add(parseLine(line));
-                } catch (Exception e) {
-                    System.out.println("Skipping corrupted line: " + line);
+        try {
+            if (file.length() > 0 && BinaryTaskCodec.isBinary(file.toPath())) {
+                try (InputStream in = new FileInputStream(file)) {
+                    return BinaryTaskCodec.read(in, sink);
+                }
+            }
+            if (loadMode == LoadMode.PARALLEL) {
+                return new ParallelTaskLoader().load(file.toPath(), sink);
+            }
+            if (loadMode == LoadMode.BLOCK) {
+                try (BlockTaskReader reader = new BlockTaskReader(file.toPath())) {
+                    reader.forEachRemaining(sink);
+                    return new FileHeader(reader.getBaseSeq(), reader.getLastId());
                 }
             }
         } catch (IOException e) {
             System.out.println("Error loading tasks: " + e.getMessage());
+            return header;
         }
+        try (BufferedReader br = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            header = readText(br, sink);
+        } catch (IOException e) {
+            System.out.println("Error loading tasks: " + e.getMessage());
+        }
+        return header;
+    }
 
-        return tasks;
+    /**
+     * Reads a text task file line by line into {@code tasks}, skipping corrupted lines.
+     *
+     * @param br   reader positioned at the start of the file
+     * @param sink receives each task in file order
+     * @return the file's header lines
+     * @throws IOException if reading fails
+     */
+    static FileHeader readText(BufferedReader br, Consumer<Task> sink) throws IOException {
+        FileHeader header = new FileHeader();
+        String line;
+        while ((line = br.readLine()) != null) {
+            if (header.read(line)) {
+                continue;
+            }
+            try {
+                sink.accept(parseLine(line));
+            } catch (Exception e) {
+                System.out.println("Skipping corrupted line: " + line);
+            }
+        }
+        return header;
     }
 
     /**
@@ -72,9 +298,15 @@ public class Storage {
      * @param line the line to be parsed
      * @return a static Task
      */
-    private static Task parseLine(String line) {
+    static Task parseLine(String line) {
         String[] t = line.split(SEP);
         String type = t[0];
+        long id = 0;
+        int idAt = type.indexOf(ID_MARK);
+        if (idAt >= 0) {
+            id = Long.parseLong(type.substring(idAt + 1));
+            type = type.substring(0, idAt);
+        }
         boolean isDone = "1".equals(t[1]);
         String desc = t[2];
 
@@ -97,35 +329,237 @@ public class Storage {
         if (isDone) {
             task.markAsDone();
         }
+        task.restoreId(id);
         return task;
     }
 
+    /**
+     * Formats a task as a single line of the task file. The type letter carries the task's id,
+     * e.g. {@code T#12 | 0 | read book}; tasks without an id get the plain letter.
+     *
+     * @param t the task to format
+     * @return the line, without a trailing newline
+     */
+    static String formatLine(Task t) {
+        String status = t.getStatusIcon().equals("X") ? "1" : "0";
+        String id = t.getId() > 0 ? ID_MARK + Long.toString(t.getId()) : "";
+        if (t instanceof Deadline) {
+            return "D" + id + " | " + status + " | " + t.getDescription() + " | "
+                    + ((Deadline) t).getBy().toString();
+        } else if (t instanceof Event) {
+            return "E" + id + " | " + status + " | " + t.getDescription() + " | "
+                    + ((Event) t).getFrom().toString() + " | "
+                    + ((Event) t).getTo().toString();
+        }
+        return "T" + id + " | " + status + " | " + t.getDescription();
+    }
+
     /**
      * Saves the given list of tasks to the file.
      * Each task is written in a simple format indicating type, done status, description, and dates/times.
+     * The file is replaced atomically and forced to disk according to the {@link Durability} policy.
+     * In journaled mode the journal is emptied afterwards, since the file now holds every change; the
+     * file is then always forced first, as an unsynced file is no replacement for a deleted journal.
+     * In write-behind mode a copy of the list is queued and written in the background.
      *
      * @param tasks an ArrayList of Task objects to save
      */
     public void save(TaskList tasks) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
-            for (Task t : tasks.getTasks()) {
-                String line = "";
-                String status = t.getStatusIcon().equals("X") ? "1" : "0";
-                if (t instanceof ToDo) {
-                    line = "T | " + status + " | " + t.getDescription();
-                } else if (t instanceof Deadline) {
-                    line = "D | " + status + " | " + t.getDescription() + " | "
-                            + ((Deadline) t).getBy().toString();
-                } else if (t instanceof Event) {
-                    line = "E | " + status + " | " + t.getDescription() + " | "
-                            + ((Event) t).getFrom().toString() + " | "
-                            + ((Event) t).getTo().toString();
+        List<Task> snapshot = writeBehind != null ? tasks.snapshot() : tasks.getTasks();
+        long lastId = tasks.getLastId();
+        Runnable write;
+        if (journal != null) {
+            Journal current = journal;
+            long lastSeq = current.lastSeq();
+            current.resetCounts();
+            write = () -> {
+                checkpointer.awaitIdle();
+                try {
+                    writeSnapshot(snapshot, lastSeq, lastId, true);
+                    current.clear();
+                } catch (IOException e) {
+                    System.out.println("Error saving tasks: " + e.getMessage());
+                }
+            };
+        } else {
+            write = () -> {
+                try {
+                    writeSnapshot(snapshot, NO_SEQ, lastId, durability == Durability.PER_SAVE);
+                } catch (IOException e) {
+                    System.out.println("Error saving tasks: " + e.getMessage());
                 }
-                bw.write(line);
-                bw.newLine();
+            };
+        }
+        if (writeBehind != null) {
+            writeBehind.submitFullSave(write);
+        } else {
+            write.run();
+        }
+    }
+
+    /**
+     * Writes {@code tasks} to {@code out} in the configured format.
+     *
+     * @param out     destination stream; flushed but not closed
+     * @param tasks   the tasks to write
+     * @param lastSeq the last journal sequence number reflected in {@code tasks},
+     *                or {@code NO_SEQ} outside journaled mode
+     * @param lastId  the highest task id the list has given out
+     * @throws IOException if writing fails
+     */
+    private void writeTasks(OutputStream out, List<Task> tasks, long lastSeq, long lastId) throws IOException {
+        if (format == StorageFormat.BINARY) {
+            BinaryTaskCodec.write(out, tasks, Math.max(lastSeq, 0), lastId);
+            return;
+        }
+        writeText(out, tasks, lastSeq, lastId);
+    }
+
+    /**
+     * Writes {@code tasks} to {@code out} in the text format, one line per task.
+     *
+     * @param out     destination stream; flushed but not closed
+     * @param tasks   the tasks to write
+     * @param lastSeq the sequence number for the {@code # seq} header, or {@code NO_SEQ} for none
+     * @param lastId  the id for the {@code # lastId} header, or 0 for none
+     * @throws IOException if writing fails
+     */
+    static void writeText(OutputStream out, List<Task> tasks, long lastSeq, long lastId) throws IOException {
+        BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (lastSeq != NO_SEQ) {
+            bw.write(SEQ_HEADER + lastSeq);
+            bw.newLine();
+        }
+        if (lastId > 0) {
+            bw.write(LAST_ID_HEADER + lastId);
+            bw.newLine();
+        }
+        for (Task t : tasks) {
+            bw.write(formatLine(t));
+            bw.newLine();
+        }
+        bw.flush();
+    }
+
+    /**
+     * Writes {@code tasks} as the new base file, tagged with the last journal sequence number it
+     * contains and the highest task id given out. The data is written to a temporary file and
+     * renamed over the base file, so a crash never leaves a half-written task file behind.
+     * <p>
+     * When {@code isForced}, the temporary file is synced before the rename and the directory after
+     * it, so the new file survives power loss once this returns. Snapshots that replace a journal
+     * (checkpoints and journaled saves) are always forced, since the journal is deleted afterwards.
+     *
+     * @param tasks    the tasks to write
+     * @param lastSeq  the last journal sequence number reflected in {@code tasks}, or {@code NO_SEQ}
+     * @param lastId   the highest task id the list has given out
+     * @param isForced whether to force the file to the storage device
+     * @throws IOException if the file cannot be written or moved into place
+     */
+    private void writeSnapshot(List<Task> tasks, long lastSeq, long lastId, boolean isForced)
+            throws IOException {
+        Path target = Path.of(filePath);
+        Path temp = Path.of(filePath + TEMP_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+            writeTasks(out, tasks, lastSeq, lastId);
+            if (isForced) {
+                out.getChannel().force(true);
             }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (isForced) {
+            syncDirectory(target.toAbsolutePath().getParent());
+        } else if (durability == Durability.PERIODIC) {
+            syncer.markDirty(target);
+        }
+    }
+
+    /**
+     * Forces a directory entry change (such as a rename) to the storage device, where supported.
+     */
+    static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
         } catch (IOException e) {
-            System.out.println("Error saving tasks: " + e.getMessage());
+            // Not every platform can sync a directory (e.g. Windows); the rename is still atomic.
+        }
+    }
+
+    /**
+     * Persists a task that was just added to the end of {@code tasks}.
+     * Appends one journal record in journaled mode, otherwise rewrites the file.
+     *
+     * @param tasks the task list after the add
+     * @param t     the added task
+     */
+    public void saveAdd(TaskList tasks, Task t) {
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        appendJournal(journal.recordAdd(t));
+        checkpointer.maybeCheckpoint(journal, tasks, this::runJournalIo);
+    }
+
+    /**
+     * Persists a change to a task in the list (e.g. marking it done).
+     * Appends one journal record in journaled mode, otherwise rewrites the file.
+     *
+     * @param tasks the task list after the change
+     * @param t     the changed task
+     */
+    public void saveUpdate(TaskList tasks, Task t) {
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        appendJournal(journal.recordUpdate(t));
+        checkpointer.maybeCheckpoint(journal, tasks, this::runJournalIo);
+    }
+
+    /**
+     * Persists the removal of a task from the list.
+     * Appends one journal record in journaled mode, otherwise rewrites the file.
+     *
+     * @param tasks   the task list after the removal
+     * @param removed the removed task
+     */
+    public void saveRemove(TaskList tasks, Task removed) {
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        appendJournal(journal.recordRemove(removed));
+        checkpointer.maybeCheckpoint(journal, tasks, this::runJournalIo);
+    }
+
+    private void appendJournal(String record) {
+        if (writeBehind != null) {
+            writeBehind.append(record);
+        } else {
+            writeJournal(List.of(record));
+        }
+    }
+
+    private void writeJournal(List<String> records) {
+        if (journal == null) {
+            return;
+        }
+        journal.write(records, durability == Durability.PER_SAVE);
+        if (durability == Durability.PERIODIC) {
+            syncer.markDirty(journal.path());
+        }
+    }
+
+    /**
+     * Runs a journal file operation after every record queued so far, on the writer thread in
+     * write-behind mode or right away otherwise.
+     */
+    private void runJournalIo(Runnable op) {
+        if (writeBehind != null) {
+            writeBehind.submit(op);
+        } else {
+            op.run();
         }
     }
 }
@@ -0,0 +1,15 @@
+package cathy.storage;
+
+/**
+ * On-disk formats the task file can be written in.
+ * <ul>
+ *   <li>{@link #TEXT} – one human-readable line per task, e.g. {@code T | 0 | read book}.</li>
+ *   <li>{@link #BINARY} – the compact layout described in {@link BinaryTaskCodec}.</li>
+ * </ul>
+ * The format of an existing file is detected on load, so switching formats only affects how
+ * the file is written next.
+ */
+public enum StorageFormat {
+    TEXT,
+    BINARY
+}
@@ -0,0 +1,220 @@
+package cathy.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import cathy.task.Deadline;
+import cathy.task.Event;
+import cathy.task.Task;
+import cathy.task.ToDo;
+
+/**
+ * Decodes one line of the text task file straight from a {@link ByteBuffer}.
+ * <p>
+ * Produces the same tasks as {@link Storage#parseLine(String)}, but finds the {@code " | "}
+ * separators by scanning bytes and reads ISO dates ({@code yyyy-MM-ddTHH:mm[:ss]}) digit by digit,
+ * so the only allocations per line are the description string and the task itself.
+ * Dates in any other shape fall back to the regular string-based parsing.
+ * <p>
+ * Instances keep a scratch buffer and are not thread-safe.
+ */
+class TaskLineDecoder {
+    private static final byte SPACE = ' ';
+    private static final byte BAR = '|';
+    private static final int SEP_LEN = 3;
+    private static final int ISO_MINUTE_LEN = 16; // 2025-09-10T23:59
+    private static final int ISO_SECOND_LEN = 19; // 2025-09-10T23:59:00
+
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Decodes the line occupying {@code [start, end)} of {@code buf}, without its line terminator.
+     *
+     * @param buf   buffer holding the line
+     * @param start index of the first byte of the line
+     * @param end   index just past the last byte of the line
+     * @return the decoded task
+     * @throws IllegalArgumentException or a date/time exception if the line is corrupted
+     */
+    Task decode(ByteBuffer buf, int start, int end) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Malformed task line");
+        }
+        byte type = buf.get(start);
+        int p = start + 1;
+        long id = 0;
+        if (p < end && buf.get(p) == Storage.ID_MARK) {
+            int idStart = ++p;
+            while (p < end && buf.get(p) >= '0' && buf.get(p) <= '9') {
+                id = id * 10 + (buf.get(p) - '0');
+                p++;
+            }
+            if (p == idStart) {
+                throw new IllegalArgumentException("Missing task id");
+            }
+        }
+        if (end - p <= 2 * SEP_LEN + 1 || !isSep(buf, p) || !isSep(buf, p + SEP_LEN + 1)) {
+            throw new IllegalArgumentException("Malformed task line");
+        }
+        boolean isDone = buf.get(p + SEP_LEN) == '1';
+        int descStart = p + 2 * SEP_LEN + 1;
+        int descEnd = indexOfSep(buf, descStart, end);
+        String desc = string(buf, descStart, descEnd);
+
+        Task task;
+        switch (type) {
+        case 'T':
+            task = new ToDo(desc);
+            break;
+        case 'D': {
+            int byStart = requireField(descEnd, end);
+            int byEnd = indexOfSep(buf, byStart, end);
+            LocalDateTime by = parseIso(buf, byStart, byEnd);
+            task = by != null ? new Deadline(desc, by) : new Deadline(desc, string(buf, byStart, byEnd));
+            break;
+        }
+        case 'E': {
+            int fromStart = requireField(descEnd, end);
+            int fromEnd = indexOfSep(buf, fromStart, end);
+            int toStart = requireField(fromEnd, end);
+            int toEnd = indexOfSep(buf, toStart, end);
+            LocalDateTime from = parseIso(buf, fromStart, fromEnd);
+            LocalDateTime to = parseIso(buf, toStart, toEnd);
+            if (from == null || to == null) {
+                task = new Event(desc, string(buf, fromStart, fromEnd), string(buf, toStart, toEnd));
+            } else if (from.isAfter(to)) {
+                throw new IllegalArgumentException("Event ends before it starts");
+            } else {
+                task = new Event(desc, from, to);
+            }
+            break;
+        }
+        default:
+            throw new IllegalArgumentException("Unknown task type: " + (char) type);
+        }
+        if (isDone) {
+            task.markAsDone();
+        }
+        task.restoreId(id);
+        return task;
+    }
+
+    /**
+     * Decodes every line in {@code [start, end)} of {@code buf}, skipping corrupted lines.
+     * The range must start at a line boundary; a final line without terminator is included.
+     *
+     * @param buf   buffer holding the lines
+     * @param start index of the first byte
+     * @param end   index just past the last byte
+     * @param sink  receives each task in order
+     * @return the header lines found in the range
+     */
+    FileHeader decodeAll(ByteBuffer buf, int start, int end, Consumer<Task> sink) {
+        FileHeader header = new FileHeader();
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && buf.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buf.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart && buf.get(lineStart) == '#') {
+                header.read(lineText(buf, lineStart, lineEnd));
+            } else {
+                try {
+                    sink.accept(decode(buf, lineStart, lineEnd));
+                } catch (Exception e) {
+                    System.out.println("Skipping corrupted line: " + lineText(buf, lineStart, lineEnd));
+                }
+            }
+            lineStart = next;
+        }
+        return header;
+    }
+
+    /**
+     * Returns the line as a string, for error messages.
+     */
+    String lineText(ByteBuffer buf, int start, int end) {
+        return string(buf, start, end);
+    }
+
+    private static int requireField(int sepAt, int end) {
+        if (sepAt >= end) {
+            throw new IllegalArgumentException("Missing date field");
+        }
+        return sepAt + SEP_LEN;
+    }
+
+    private static boolean isSep(ByteBuffer buf, int i) {
+        return buf.get(i) == SPACE && buf.get(i + 1) == BAR && buf.get(i + 2) == SPACE;
+    }
+
+    private static int indexOfSep(ByteBuffer buf, int from, int end) {
+        for (int i = from; i + SEP_LEN <= end; i++) {
+            if (buf.get(i + 1) == BAR && buf.get(i) == SPACE && buf.get(i + 2) == SPACE) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private String string(ByteBuffer buf, int start, int end) {
+        int len = end - start;
+        if (len > scratch.length) {
+            scratch = new byte[Math.max(len, scratch.length * 2)];
+        }
+        buf.get(start, scratch, 0, len);
+        return new String(scratch, 0, len, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses {@code yyyy-MM-ddTHH:mm} or {@code yyyy-MM-ddTHH:mm:ss} from bytes.
+     *
+     * @return the date/time, or null if the field has a different shape
+     */
+    private static LocalDateTime parseIso(ByteBuffer buf, int start, int end) {
+        int len = end - start;
+        if ((len != ISO_MINUTE_LEN && len != ISO_SECOND_LEN)
+                || buf.get(start + 4) != '-' || buf.get(start + 7) != '-'
+                || buf.get(start + 10) != 'T' || buf.get(start + 13) != ':') {
+            return null;
+        }
+        int year = digits(buf, start, 4);
+        int month = digits(buf, start + 5, 2);
+        int day = digits(buf, start + 8, 2);
+        int hour = digits(buf, start + 11, 2);
+        int minute = digits(buf, start + 14, 2);
+        int second = 0;
+        if (len == ISO_SECOND_LEN) {
+            if (buf.get(start + 16) != ':') {
+                return null;
+            }
+            second = digits(buf, start + 17, 2);
+        }
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+
+    /**
+     * Reads {@code count} ASCII digits as a number, or returns -1 if any byte is not a digit.
+     */
+    private static int digits(ByteBuffer buf, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int d = buf.get(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,215 @@
+package cathy.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Performs {@link Storage} writes on a dedicated background thread, coalescing bursts of changes.
+ * <p>
+ * Callers only queue work and return immediately. The writer thread waits a short window after
+ * the first queued item so that further changes can join it, then handles the whole batch at once:
+ * <ul>
+ *   <li>journal records queued back to back are appended with a single write and flush;</li>
+ *   <li>a full save supersedes everything queued before it, so several saves in one window
+ *       produce one file write.</li>
+ * </ul>
+ * Work is carried out in the order it was queued. {@link #flush()} blocks until everything queued
+ * so far is on disk; it also runs from a JVM shutdown hook so pending changes survive a normal exit.
+ */
+class WriteBehindWriter {
+    static final long DEFAULT_WINDOW_MILLIS = 50;
+
+    /**
+     * One unit of queued work: either a journal record or a write to run.
+     */
+    private static final class Op {
+        private final String record;
+        private final Runnable write;
+        private final boolean isFullSave;
+
+        private Op(String record, Runnable write, boolean isFullSave) {
+            this.record = record;
+            this.write = write;
+            this.isFullSave = isFullSave;
+        }
+    }
+
+    private final Consumer<List<String>> journalSink;
+    private final long windowNanos;
+    private final Object lock = new Object();
+    private final Thread thread;
+    private final Thread shutdownHook;
+    private ArrayList<Op> pending = new ArrayList<>();
+    private long queued;
+    private long done;
+    private boolean isFlushRequested;
+    private boolean isClosed;
+
+    /**
+     * Starts a writer thread.
+     *
+     * @param journalSink  appends a batch of journal records, in order
+     * @param windowMillis how long to wait for further changes before writing
+     */
+    WriteBehindWriter(Consumer<List<String>> journalSink, long windowMillis) {
+        assert windowMillis >= 0 : "WriteBehindWriter: window must not be negative";
+        this.journalSink = journalSink;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        thread = new Thread(this::run, "cathy-writer");
+        thread.setDaemon(true);
+        thread.start();
+        shutdownHook = new Thread(this::flush, "cathy-writer-flush");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Queues a journal record to be appended.
+     *
+     * @param record the record line
+     */
+    void append(String record) {
+        enqueue(new Op(record, null, false));
+    }
+
+    /**
+     * Queues a write to run on the writer thread, after everything queued before it.
+     *
+     * @param write the write; reports its own errors
+     */
+    void submit(Runnable write) {
+        enqueue(new Op(null, write, false));
+    }
+
+    /**
+     * Queues a write of the whole task file. Anything still queued before it is dropped,
+     * since the full save already contains those changes.
+     *
+     * @param write the write; reports its own errors
+     */
+    void submitFullSave(Runnable write) {
+        enqueue(new Op(null, write, true));
+    }
+
+    private void enqueue(Op op) {
+        synchronized (lock) {
+            assert !isClosed : "WriteBehindWriter: already closed";
+            pending.add(op);
+            queued++;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Blocks until everything queued so far has been written.
+     */
+    void flush() {
+        synchronized (lock) {
+            long target = queued;
+            isFlushRequested = true;
+            lock.notifyAll();
+            try {
+                while (done < target && thread.isAlive()) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Writes everything still queued and stops the writer thread.
+     */
+    void close() {
+        synchronized (lock) {
+            isClosed = true;
+            lock.notifyAll();
+        }
+        try {
+            thread.join();
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IllegalStateException e) {
+            // Already shutting down; the hook runs anyway and finds nothing left to write.
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                List<Op> batch = nextBatch();
+                if (batch == null) {
+                    return;
+                }
+                writeBatch(batch);
+                synchronized (lock) {
+                    done += batch.size();
+                    lock.notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for work, then for the coalescing window (cut short by a flush or close), and takes
+     * everything queued so far.
+     *
+     * @return the batch, or null once closed with nothing left to write
+     */
+    private List<Op> nextBatch() throws InterruptedException {
+        synchronized (lock) {
+            while (pending.isEmpty()) {
+                if (isClosed) {
+                    return null;
+                }
+                lock.wait();
+            }
+            long deadline = System.nanoTime() + windowNanos;
+            long left = windowNanos;
+            while (!isFlushRequested && !isClosed && left > 0) {
+                TimeUnit.NANOSECONDS.timedWait(lock, left);
+                left = deadline - System.nanoTime();
+            }
+            List<Op> batch = pending;
+            pending = new ArrayList<>();
+            isFlushRequested = false;
+            return batch;
+        }
+    }
+
+    private void writeBatch(List<Op> batch) {
+        int start = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).isFullSave) {
+                start = i;
+            }
+        }
+        ArrayList<String> records = new ArrayList<>();
+        for (Op op : batch.subList(start, batch.size())) {
+            if (op.record != null) {
+                records.add(op.record);
+                continue;
+            }
+            appendRecords(records);
+            try {
+                op.write.run();
+            } catch (RuntimeException e) {
+                System.out.println("Error saving tasks: " + e.getMessage());
+            }
+        }
+        appendRecords(records);
+    }
+
+    private void appendRecords(ArrayList<String> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        journalSink.accept(records);
+        records.clear();
+    }
+}
@@ -0,0 +1,74 @@
+package cathy.task;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * Supplies the buffers that a {@link ColumnarTaskStore} keeps its columns in.
+ * <p>
+ * {@link #HEAP} buffers live on the Java heap. {@link #DIRECT} buffers live outside it, so the
+ * garbage collector never has to copy or scan the task data however large it grows. Buffers from
+ * {@link #mapped(Path)} are also outside the heap, but backed by scratch files that the operating
+ * system can page out, for lists larger than memory. Each buffer holds at most 2 GB.
+ */
+abstract class ColumnMemory {
+    /** Buffers on the Java heap. */
+    static final ColumnMemory HEAP = new ColumnMemory() {
+        @Override
+        ByteBuffer allocate(String column, int bytes) {
+            return ByteBuffer.allocate(bytes).order(ByteOrder.nativeOrder());
+        }
+    };
+
+    /** Direct buffers, outside the Java heap. */
+    static final ColumnMemory DIRECT = new ColumnMemory() {
+        @Override
+        ByteBuffer allocate(String column, int bytes) {
+            return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        }
+    };
+
+    /**
+     * Returns memory that maps a new scratch file in {@code dir} for every buffer. The files are
+     * deleted once mapped (or, where the platform does not allow that, when the JVM exits);
+     * their contents are not meant to outlive the list.
+     *
+     * @param dir the directory for the scratch files
+     * @return the memory
+     */
+    static ColumnMemory mapped(Path dir) {
+        return new ColumnMemory() {
+            @Override
+            ByteBuffer allocate(String column, int bytes) {
+                try {
+                    File file = File.createTempFile("cathy-" + column + "-", ".col", dir.toFile());
+                    file.deleteOnExit();
+                    ByteBuffer buf;
+                    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                        raf.setLength(bytes);
+                        buf = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+                    }
+                    file.delete(); // the mapping stays valid
+                    return buf.order(ByteOrder.nativeOrder());
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot map task column " + column, e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Allocates a zero-filled buffer in native byte order.
+     *
+     * @param column name of the column the buffer is for, used to label scratch files
+     * @param bytes  the size of the buffer
+     * @return the buffer
+     */
+    abstract ByteBuffer allocate(String column, int bytes);
+}
@@ -0,0 +1,627 @@
+package cathy.task;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A {@link TaskStore} that keeps tasks as columns of primitives instead of as objects.
+ * <p>
+ * Row {@code r} of the store is one task: its type and status in the {@code flags} column, its id
+ * in {@code ids}, its dates (by, or from and to) in {@code starts} and {@code ends} as epoch seconds
+ * in UTC, and its description as UTF-8 bytes at {@code textStart} in one shared text buffer.
+ * A task therefore costs a few dozen bytes plus one byte per ASCII character, with no per-task
+ * objects; {@link #get(int)} builds a fresh {@link Task} from its row each time.
+ * Times are kept to the second; fractions of a second are dropped. Date queries compare whole minutes,
+ * like the indexes of a {@link TreeTaskStore} list.
+ * <p>
+ * The columns are {@link ByteBuffer}s from a {@link ColumnMemory}, so the same store can keep its
+ * tasks on the Java heap, off it, or in mapped files. Only the tasks that are read or returned by
+ * a query become objects.
+ * <p>
+ * Removing a task only marks its row as removed. A Fenwick tree over the rows counts the live ones,
+ * so the row at a given position is found in O(log n), and removed rows and replaced descriptions
+ * are squeezed out once they make up half of the store.
+ * <p>
+ * The date and substring queries scan the columns directly and only build objects for the hits.
+ */
+class ColumnarTaskStore extends AbstractList<Task> implements TaskStore {
+    private static final int TODO = 0;
+    private static final int DEADLINE = 1;
+    private static final int EVENT = 2;
+    private static final int TYPE_MASK = 0x03;
+    private static final int DONE = 0x04;
+    private static final int REMOVED = 0x08;
+    private static final int NON_ASCII = 0x10;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MIN_COMPACT = 1024;
+    private static final int MAX_BUFFER = Integer.MAX_VALUE - 8;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private final ColumnMemory memory;
+    private int capacity = MIN_CAPACITY;
+    private ByteBuffer flags;
+    private ByteBuffer ids;
+    private ByteBuffer starts;
+    private ByteBuffer ends;
+    private ByteBuffer textStart;
+    private ByteBuffer textLength;
+    private ByteBuffer text;
+    // Fenwick tree over rows (1-based ints): live rows count 1, removed rows 0
+    private ByteBuffer live;
+    private byte[] scratch = new byte[256];
+    private int rows;
+    private int size;
+    private int textUsed;
+    private int textGarbage;
+
+    /**
+     * Creates an empty store on the Java heap.
+     */
+    ColumnarTaskStore() {
+        this(ColumnMemory.HEAP);
+    }
+
+    /**
+     * Creates an empty store whose columns come from {@code memory}.
+     *
+     * @param memory where to allocate the columns
+     */
+    ColumnarTaskStore(ColumnMemory memory) {
+        this.memory = memory;
+        flags = memory.allocate("flags", capacity);
+        ids = memory.allocate("ids", capacity * Long.BYTES);
+        starts = memory.allocate("starts", capacity * Long.BYTES);
+        ends = memory.allocate("ends", capacity * Long.BYTES);
+        textStart = memory.allocate("textStart", capacity * Integer.BYTES);
+        textLength = memory.allocate("textLength", capacity * Integer.BYTES);
+        text = memory.allocate("text", capacity * 16);
+        live = memory.allocate("live", (capacity + 1) * Integer.BYTES);
+    }
+
+    /**
+     * Creates a copy of {@code source} in the same kind of memory, copying each column in bulk.
+     */
+    private ColumnarTaskStore(ColumnarTaskStore source) {
+        memory = source.memory;
+        rows = source.rows;
+        size = source.size;
+        textUsed = source.textUsed;
+        textGarbage = source.textGarbage;
+        capacity = Math.max(MIN_CAPACITY, rows);
+        flags = copied("flags", source.flags, capacity, rows);
+        ids = copied("ids", source.ids, capacity * Long.BYTES, rows * Long.BYTES);
+        starts = copied("starts", source.starts, capacity * Long.BYTES, rows * Long.BYTES);
+        ends = copied("ends", source.ends, capacity * Long.BYTES, rows * Long.BYTES);
+        textStart = copied("textStart", source.textStart, capacity * Integer.BYTES, rows * Integer.BYTES);
+        textLength = copied("textLength", source.textLength, capacity * Integer.BYTES, rows * Integer.BYTES);
+        text = copied("text", source.text, Math.max(textUsed, MIN_CAPACITY * 16), textUsed);
+        live = memory.allocate("live", (capacity + 1) * Integer.BYTES);
+        rebuildLive();
+    }
+
+    private ByteBuffer copied(String column, ByteBuffer source, int bytes, int used) {
+        ByteBuffer copy = memory.allocate(column, bytes);
+        copy.put(0, source, 0, used);
+        return copy;
+    }
+
+    private int flags(int row) {
+        return flags.get(row);
+    }
+
+    private long id(int row) {
+        return ids.getLong(row * Long.BYTES);
+    }
+
+    private long startSecond(int row) {
+        return starts.getLong(row * Long.BYTES);
+    }
+
+    private long endSecond(int row) {
+        return ends.getLong(row * Long.BYTES);
+    }
+
+    private long start(int row) {
+        return Math.floorDiv(startSecond(row), SECONDS_PER_MINUTE);
+    }
+
+    private long end(int row) {
+        return Math.floorDiv(endSecond(row), SECONDS_PER_MINUTE);
+    }
+
+    private int textStart(int row) {
+        return textStart.getInt(row * Integer.BYTES);
+    }
+
+    private int textLength(int row) {
+        return textLength.getInt(row * Integer.BYTES);
+    }
+
+    private int live(int i) {
+        return live.getInt(i * Integer.BYTES);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        return materialize(rowAt(index));
+    }
+
+    @Override
+    public boolean add(Task t) {
+        if (rows == capacity) {
+            grow();
+        }
+        ids.putLong(rows * Long.BYTES, t.id);
+        write(rows, t);
+        addLive(rows, 1);
+        rows++;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, Task t) {
+        if (index != size) {
+            throw new UnsupportedOperationException("ColumnarTaskStore: can only append");
+        }
+        add(t);
+    }
+
+    /**
+     * Replaces the task at the given position in place. The row keeps its id.
+     */
+    @Override
+    public Task set(int index, Task t) {
+        Objects.checkIndex(index, size);
+        int row = rowAt(index);
+        Task old = materialize(row);
+        textGarbage += textLength(row);
+        write(row, t);
+        compactIfSparse();
+        return old;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Objects.checkIndex(index, size);
+        int row = rowAt(index);
+        Task removed = materialize(row);
+        flags.put(row, (byte) (flags(row) | REMOVED));
+        textGarbage += textLength(row);
+        addLive(row, -1);
+        size--;
+        modCount++;
+        compactIfSparse();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        rows = 0;
+        size = 0;
+        textUsed = 0;
+        textGarbage = 0;
+        rebuildLive();
+        modCount++;
+    }
+
+    @Override
+    public int indexOfId(long id) {
+        // Ids increase with the row, removed rows included
+        int lo = 0;
+        int hi = rows - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long midId = id(mid);
+            if (midId < id) {
+                lo = mid + 1;
+            } else if (midId > id) {
+                hi = mid - 1;
+            } else {
+                return (flags(mid) & REMOVED) != 0 ? -1 : liveBefore(mid);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the columns in bulk. This takes O(n) time but builds no task objects, and the copy
+     * stays in the same kind of memory as this store.
+     */
+    @Override
+    public List<Task> snapshot() {
+        return Collections.unmodifiableList(new ColumnarTaskStore(this));
+    }
+
+    @Override
+    public Task setDone(int index, boolean isDone) {
+        Objects.checkIndex(index, size);
+        int row = rowAt(index);
+        flags.put(row, (byte) (isDone ? flags(row) | DONE : flags(row) & ~DONE));
+        return materialize(row);
+    }
+
+    /**
+     * Walks the rows in order, skipping removed ones.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private final int expectedModCount = modCount;
+            private int row = nextLive(0);
+
+            @Override
+            public boolean hasNext() {
+                return row < rows;
+            }
+
+            @Override
+            public Task next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (row >= rows) {
+                    throw new NoSuchElementException();
+                }
+                Task t = materialize(row);
+                row = nextLive(row + 1);
+                return t;
+            }
+        };
+    }
+
+    private int nextLive(int row) {
+        while (row < rows && (flags(row) & REMOVED) != 0) {
+            row++;
+        }
+        return row;
+    }
+
+    /**
+     * Returns the events that overlap the given day, ordered by start time and then list order.
+     */
+    List<Event> eventsOn(LocalDate date) {
+        long lo = EpochTime.toEpochMinute(date.atStartOfDay());
+        long hi = lo + MINUTES_PER_DAY - 1;
+        ArrayList<Event> hits = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            if ((flags(row) & (TYPE_MASK | REMOVED)) == EVENT && start(row) <= hi && end(row) >= lo) {
+                hits.add((Event) materialize(row));
+            }
+        }
+        hits.sort(Comparator.comparing(Event::getFrom));
+        return hits;
+    }
+
+    /**
+     * Returns the deadlines due and the events taking place on the given day, in list order.
+     */
+    List<Task> datedOn(LocalDate date) {
+        long lo = EpochTime.toEpochMinute(date.atStartOfDay());
+        long hi = lo + MINUTES_PER_DAY - 1;
+        ArrayList<Task> hits = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            int type = flags(row) & (TYPE_MASK | REMOVED);
+            if ((type == EVENT && start(row) <= hi && end(row) >= lo)
+                    || (type == DEADLINE && start(row) >= lo && start(row) <= hi)) {
+                hits.add(materialize(row));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Returns the deadlines due on the given day, ordered by due time and then list order.
+     */
+    List<Deadline> deadlinesOn(LocalDate date) {
+        long lo = EpochTime.toEpochMinute(date.atStartOfDay());
+        return deadlines(lo, lo + MINUTES_PER_DAY - 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the deadlines due from minute {@code lo} to minute {@code hi}, both inclusive,
+     * ordered by due time and then list order.
+     */
+    List<Deadline> deadlinesBetween(long lo, long hi) {
+        return deadlines(lo, hi, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns up to {@code limit} deadlines due at or after minute {@code from}, soonest first.
+     */
+    List<Deadline> upcomingDeadlines(long from, int limit) {
+        return deadlines(from, Long.MAX_VALUE, limit);
+    }
+
+    private List<Deadline> deadlines(long lo, long hi, int limit) {
+        ArrayList<Integer> hitRows = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            if ((flags(row) & (TYPE_MASK | REMOVED)) == DEADLINE && start(row) >= lo && start(row) <= hi) {
+                hitRows.add(row);
+            }
+        }
+        // Rows are in list order and the sort is stable, so ties stay in list order
+        hitRows.sort(Comparator.comparingLong(this::start));
+        ArrayList<Deadline> hits = new ArrayList<>(Math.min(limit, hitRows.size()));
+        for (int row : hitRows.subList(0, Math.min(limit, hitRows.size()))) {
+            hits.add((Deadline) materialize(row));
+        }
+        return hits;
+    }
+
+    /**
+     * Returns, in list order, the tasks whose lower-cased description may contain {@code keyword}.
+     * ASCII descriptions are matched byte by byte; descriptions with other characters, whose case
+     * mapping can change their length, are always included for the caller to check.
+     *
+     * @param keyword the lower-cased keyword
+     */
+    List<Task> substringCandidates(String keyword) {
+        byte[] needle = keyword.getBytes(StandardCharsets.UTF_8);
+        boolean isAsciiNeedle = needle.length == keyword.length();
+        ArrayList<Task> hits = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            int f = flags(row);
+            if ((f & REMOVED) != 0) {
+                continue;
+            }
+            if ((f & NON_ASCII) != 0
+                    || (isAsciiNeedle && containsIgnoreCase(textStart(row), textLength(row), needle))) {
+                hits.add(materialize(row));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Returns whether a task's description, trimmed and lower-cased, equals that of
+     * {@code description}, as {@link DescriptionIndex} would tell. ASCII descriptions are compared
+     * byte by byte in the text column; only descriptions with other characters are decoded.
+     *
+     * @param description the description to look up
+     */
+    boolean containsDescription(String description) {
+        String key = DescriptionIndex.normalize(description);
+        byte[] needle = key.getBytes(StandardCharsets.UTF_8);
+        boolean isAsciiNeedle = needle.length == key.length();
+        for (int row = 0; row < rows; row++) {
+            int f = flags(row);
+            if ((f & REMOVED) != 0) {
+                continue;
+            }
+            if ((f & NON_ASCII) != 0) {
+                if (DescriptionIndex.normalize(description(textStart(row), textLength(row))).equals(key)) {
+                    return true;
+                }
+            } else if (isAsciiNeedle && equalsTrimmedIgnoreCase(textStart(row), textLength(row), needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean equalsTrimmedIgnoreCase(int start, int length, byte[] needle) {
+        int end = start + length;
+        while (start < end && text.get(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.get(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != needle.length) {
+            return false;
+        }
+        for (int i = 0; i < needle.length; i++) {
+            if (toLowerAscii(text.get(start + i)) != needle[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean containsIgnoreCase(int start, int length, byte[] needle) {
+        int last = start + length - needle.length;
+        for (int i = start; i <= last; i++) {
+            int j = 0;
+            while (j < needle.length && toLowerAscii(text.get(i + j)) == needle[j]) {
+                j++;
+            }
+            if (j == needle.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte toLowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    /**
+     * Writes everything but the id of {@code t} into a row.
+     */
+    private void write(int row, Task t) {
+        byte[] desc = t.getDescription().getBytes(StandardCharsets.UTF_8);
+        int f = t.isDone ? DONE : 0;
+        if (desc.length != t.getDescription().length()) {
+            f |= NON_ASCII;
+        }
+        if (t instanceof Deadline d) {
+            f |= DEADLINE;
+            starts.putLong(row * Long.BYTES, EpochTime.toEpochSecond(d.getBy()));
+        } else if (t instanceof Event e) {
+            f |= EVENT;
+            starts.putLong(row * Long.BYTES, EpochTime.toEpochSecond(e.getFrom()));
+            ends.putLong(row * Long.BYTES, EpochTime.toEpochSecond(e.getTo()));
+        } else {
+            f |= TODO;
+        }
+        flags.put(row, (byte) f);
+        if (desc.length > text.capacity() - textUsed) {
+            if (desc.length > MAX_BUFFER - textUsed) {
+                throw new IllegalStateException("ColumnarTaskStore: descriptions exceed 2 GB");
+            }
+            int grown = (int) Math.min(MAX_BUFFER, Math.max(textUsed + desc.length, 2L * text.capacity()));
+            text = resized("text", text, grown);
+        }
+        text.put(textUsed, desc);
+        textStart.putInt(row * Integer.BYTES, textUsed);
+        textLength.putInt(row * Integer.BYTES, desc.length);
+        textUsed += desc.length;
+    }
+
+    private Task materialize(int row) {
+        String desc = description(textStart(row), textLength(row));
+        Task t;
+        switch (flags(row) & TYPE_MASK) {
+        case DEADLINE:
+            t = new Deadline(desc, EpochTime.fromEpochSecond(startSecond(row), 0));
+            break;
+        case EVENT:
+            t = new Event(desc, EpochTime.fromEpochSecond(startSecond(row), 0),
+                    EpochTime.fromEpochSecond(endSecond(row), 0));
+            break;
+        default:
+            t = new ToDo(desc);
+            break;
+        }
+        if ((flags(row) & DONE) != 0) {
+            t.markAsDone();
+        }
+        t.id = id(row);
+        return t;
+    }
+
+    private String description(int start, int length) {
+        if (text.hasArray()) {
+            return new String(text.array(), text.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        text.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer resized(String column, ByteBuffer old, int bytes) {
+        ByteBuffer grown = memory.allocate(column, bytes);
+        grown.put(0, old, 0, Math.min(old.capacity(), bytes));
+        return grown;
+    }
+
+    private void grow() {
+        if (capacity > MAX_BUFFER / Long.BYTES / 2) {
+            throw new IllegalStateException("ColumnarTaskStore: too many tasks");
+        }
+        capacity *= 2;
+        flags = resized("flags", flags, capacity);
+        ids = resized("ids", ids, capacity * Long.BYTES);
+        starts = resized("starts", starts, capacity * Long.BYTES);
+        ends = resized("ends", ends, capacity * Long.BYTES);
+        textStart = resized("textStart", textStart, capacity * Integer.BYTES);
+        textLength = resized("textLength", textLength, capacity * Integer.BYTES);
+        live = memory.allocate("live", (capacity + 1) * Integer.BYTES);
+        rebuildLive();
+    }
+
+    /**
+     * Squeezes out removed rows and unused description bytes once they outnumber the live ones.
+     */
+    private void compactIfSparse() {
+        boolean hasDeadRows = rows - size > Math.max(size, MIN_COMPACT);
+        boolean hasDeadText = textGarbage > Math.max(textUsed - textGarbage, MIN_COMPACT * 16);
+        if (!hasDeadRows && !hasDeadText) {
+            return;
+        }
+        ByteBuffer packed = memory.allocate("text", Math.max(textUsed - textGarbage, MIN_CAPACITY * 16));
+        int packedUsed = 0;
+        int to = 0;
+        for (int row = 0; row < rows; row++) {
+            if ((flags(row) & REMOVED) != 0) {
+                continue;
+            }
+            int length = textLength(row);
+            packed.put(packedUsed, text, textStart(row), length);
+            flags.put(to, flags.get(row));
+            ids.putLong(to * Long.BYTES, id(row));
+            starts.putLong(to * Long.BYTES, startSecond(row));
+            ends.putLong(to * Long.BYTES, endSecond(row));
+            textStart.putInt(to * Integer.BYTES, packedUsed);
+            textLength.putInt(to * Integer.BYTES, length);
+            packedUsed += length;
+            to++;
+        }
+        rows = to;
+        text = packed;
+        textUsed = packedUsed;
+        textGarbage = 0;
+        rebuildLive();
+        modCount++;
+    }
+
+    /**
+     * Rebuilds the Fenwick tree from the flags in O(n).
+     */
+    private void rebuildLive() {
+        for (int i = 1; i <= capacity; i++) {
+            live.putInt(i * Integer.BYTES, i <= rows && (flags(i - 1) & REMOVED) == 0 ? 1 : 0);
+        }
+        for (int i = 1; i <= capacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                live.putInt(parent * Integer.BYTES, live(parent) + live(i));
+            }
+        }
+    }
+
+    private void addLive(int row, int delta) {
+        for (int i = row + 1; i <= capacity; i += i & -i) {
+            live.putInt(i * Integer.BYTES, live(i) + delta);
+        }
+    }
+
+    /**
+     * Returns how many live rows come before {@code row}.
+     */
+    private int liveBefore(int row) {
+        int count = 0;
+        for (int i = row; i > 0; i -= i & -i) {
+            count += live(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the row holding the task at the given position, by descending the Fenwick tree.
+     */
+    private int rowAt(int index) {
+        int row = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(capacity); step > 0; step >>= 1) {
+            int next = row + step;
+            if (next <= capacity && live(next) < remaining) {
+                row = next;
+                remaining -= live(next);
+            }
+        }
+        return row;
+    }
+}
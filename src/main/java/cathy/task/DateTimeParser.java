@@ -0,0 +1,178 @@
+package cathy.task;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parses the date/time strings that tasks are created from.
+ *
+ * <p>Accepted shapes, with {@code "/"} allowed in place of {@code "-"}:
+ * <ul>
+ *   <li>ISO-8601 (e.g. {@code 2025-09-10T23:59} or {@code 2025-09-10T23:59:30})</li>
+ *   <li>{@code yyyy-MM-dd HHmm} (e.g. {@code 2025-09-10 2359})</li>
+ *   <li>{@code yyyy-MM-dd HH:mm} (e.g. {@code 2025-09-10 23:59})</li>
+ *   <li>{@code yyyy-MM-dd} (date-only, at a time chosen by the caller)</li>
+ * </ul>
+ *
+ * <p>The common shapes are recognised by their length and separators and read digit by digit, so
+ * parsing them allocates nothing but the result and never throws. Anything else, such as an ISO
+ * time with a fraction of a second, goes through {@link DateTimeFormatter}s that accept exactly
+ * what the hand-rolled path does not, so both paths agree on every input.
+ */
+public final class DateTimeParser {
+    /** The time given to a date alone when it ends a range: the last minute of the day. */
+    public static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+
+    private static final DateTimeFormatter SPACE_HHMM = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final DateTimeFormatter SPACE_HH_MM = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final int DATE_LEN = 10; // yyyy-MM-dd
+    private static final int HHMM_LEN = 15; // yyyy-MM-dd HHmm
+    private static final int HH_MM_LEN = 16; // yyyy-MM-dd HH:mm or yyyy-MM-ddTHH:mm
+    private static final int ISO_SECOND_LEN = 19; // yyyy-MM-ddTHH:mm:ss
+
+    private DateTimeParser() {
+    }
+
+    /**
+     * Parses a date/time, or a date alone at {@code dateOnlyTime}. Leading and trailing whitespace
+     * is ignored.
+     *
+     * @param text         the date/time string
+     * @param dateOnlyTime the time of day to use when {@code text} has no time
+     * @return the date/time, or null if {@code text} is not in a supported shape
+     */
+    public static LocalDateTime parse(String text, LocalTime dateOnlyTime) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int len = end - start;
+        if (len >= DATE_LEN && isDateSeparator(text.charAt(start + 4)) && isDateSeparator(text.charAt(start + 7))) {
+            int year = digits(text, start, 4);
+            int month = digits(text, start + 5, 2);
+            int day = digits(text, start + 8, 2);
+            if ((year | month | day) >= 0 && len == DATE_LEN) {
+                return isValidDate(year, month, day) ? LocalDate.of(year, month, day).atTime(dateOnlyTime) : null;
+            }
+            if ((year | month | day) >= 0) {
+                char sep = text.charAt(start + DATE_LEN);
+                if (sep == 'T' || sep == 't') {
+                    return parseIsoTime(text, start, len, year, month, day);
+                }
+                if (sep == ' ' && year > 0) {
+                    LocalDateTime dt = parseSpacedTime(text, start, len, year, month, day);
+                    if (dt != null) {
+                        return dt;
+                    }
+                }
+            }
+        }
+        return parseSlowly(text.substring(start, end).replace('/', '-'), dateOnlyTime);
+    }
+
+    /**
+     * Reads {@code THH:mm} or {@code THH:mm:ss} after a date. Strict, like ISO-8601: values out of
+     * range are rejected rather than adjusted.
+     */
+    private static LocalDateTime parseIsoTime(String s, int start, int len, int year, int month, int day) {
+        if (len != HH_MM_LEN && len != ISO_SECOND_LEN || s.charAt(start + 13) != ':') {
+            return parseSlowly(s.substring(start, start + len).replace('/', '-'), null);
+        }
+        int hour = digits(s, start + 11, 2);
+        int minute = digits(s, start + 14, 2);
+        int second = 0;
+        if (len == ISO_SECOND_LEN) {
+            second = s.charAt(start + 16) == ':' ? digits(s, start + 17, 2) : -1;
+        }
+        if ((hour | minute | second) < 0 || hour > 23 || minute > 59 || second > 59
+                || !isValidDate(year, month, day)) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+
+    /**
+     * Reads {@code HHmm} or {@code HH:mm} after a date and a space. Returns null for anything that is
+     * not plainly valid, leaving the lenient adjustments of the formatters (such as treating
+     * {@code 2025-02-30} as the last day of February) to the slow path.
+     */
+    private static LocalDateTime parseSpacedTime(String s, int start, int len, int year, int month, int day) {
+        int minute;
+        if (len == HHMM_LEN) {
+            minute = digits(s, start + 13, 2);
+        } else if (len == HH_MM_LEN && s.charAt(start + 13) == ':') {
+            minute = digits(s, start + 14, 2);
+        } else {
+            return null;
+        }
+        int hour = digits(s, start + 11, 2);
+        if ((hour | minute) < 0 || hour > 23 || minute > 59 || !isValidDate(year, month, day)) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    /**
+     * Tries each supported format in turn. Only reached for shapes the fast path does not handle,
+     * so the exceptions used for control flow here stay off the common path.
+     *
+     * @param s            the trimmed input with {@code "/"} replaced by {@code "-"}
+     * @param dateOnlyTime the time for a date alone, or null if a date alone is not expected
+     */
+    private static LocalDateTime parseSlowly(String s, LocalTime dateOnlyTime) {
+        try {
+            return LocalDateTime.parse(s);
+        } catch (DateTimeException ignored) {
+            // try the next format
+        }
+        for (DateTimeFormatter f : new DateTimeFormatter[] {SPACE_HHMM, SPACE_HH_MM}) {
+            try {
+                return LocalDateTime.parse(s, f);
+            } catch (DateTimeException ignored) {
+                // try the next format
+            }
+        }
+        if (dateOnlyTime == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE).atTime(dateOnlyTime);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean isDateSeparator(char c) {
+        return c == '-' || c == '/';
+    }
+
+    private static boolean isValidDate(int year, int month, int day) {
+        return month >= 1 && month <= 12 && day >= 1 && day <= Month.of(month).length(Year.isLeap(year));
+    }
+
+    /**
+     * Reads {@code count} ASCII digits as a number, or returns -1 if any character is not a digit.
+     */
+    private static int digits(String s, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+}
@@ -1,8 +1,6 @@
 package cathy.task;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 import cathy.exception.InvalidDateTimeException;
 
@@ -19,15 +17,17 @@ import cathy.exception.InvalidDateTimeException;
  * <ul>
  *   <li>ISO-8601 (default, e.g. {@code 2025-09-10T23:59})</li>
  *   <li>{@code yyyy-MM-dd HHmm} (e.g. {@code 2025-09-10 2359})</li>
- *   <li>{@code yyyy-MM-dd} (date-only, defaulting to midnight)</li>
+ *   <li>{@code yyyy-MM-dd} (date-only, defaulting to 23:59)</li>
  * </ul>
  *
- * <p>Separators {@code "/"} are normalized to {@code "-"} before parsing.
+ * <p>Separators {@code "/"} are accepted in place of {@code "-"}; see {@link DateTimeParser}.
  * If the string cannot be parsed, an {@link InvalidDateTimeException} is thrown.
  */
 public class Deadline extends Task {
     protected LocalDateTime by;
     protected TaskType type;
+    /** The formatted {@code (by: ...)} part of {@link #toString()}, or null until first needed. */
+    private String byText;
 
     /**
      * Constructs a new {@code Deadline} task with the specified description and deadline.
@@ -40,44 +40,11 @@ public class Deadline extends Task {
         super(description);
         assert by != null : "Deadline: by must be parsed";
 
-        // Normalize separators
-        String s = by.trim().replace("/", "-");
-
-        // Try ISO first
-        try {
-            this.by = LocalDateTime.parse(s); // ISO-8601
-            this.type = TaskType.DEADLINE;
-            return;
-        } catch (Exception ignored) {
-            // ignore
-        }
-
-        // Try explicit datetime patterns
-        DateTimeFormatter[] dt = new DateTimeFormatter[] {
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"),
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
-        };
-        for (DateTimeFormatter f : dt) {
-            try {
-                this.by = LocalDateTime.parse(s, f);
-                this.type = TaskType.DEADLINE;
-                return;
-            } catch (Exception ignored) {
-                // ignore
-            }
-        }
-
-        // Try date-only, default to 23:59
-        try {
-            LocalDate d = LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE);
-            this.by = d.atTime(23, 59);
-            this.type = TaskType.DEADLINE;
-            return;
-        } catch (Exception ignored) {
-            // ignore
+        this.by = DateTimeParser.parse(by, DateTimeParser.END_OF_DAY);
+        if (this.by == null) {
+            throw new InvalidDateTimeException("Could not parse deadline date/time: " + by);
         }
-
-        throw new InvalidDateTimeException("Could not parse deadline date/time: " + by);
+        this.type = TaskType.DEADLINE;
     }
 
     /**
@@ -104,15 +71,17 @@ public class Deadline extends Task {
     }
 
     /**
-     * Returns a string representation of this {@code Deadline}.
+     * Builds the string representation of this {@code Deadline}.
      * The output includes the task type marker {@code [D]}, the description,
-     * and the formatted due date/time.
+     * and the formatted due date/time, which is kept for the next time the task is shown.
      *
      * @return formatted string for display
      */
     @Override
-    public String toString() {
-        DateTimeFormatter outputFormat = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mma");
-        return "[D]" + super.toString() + " (by: " + this.by.format(outputFormat) + ")";
+    protected String render() {
+        if (byText == null) {
+            byText = " (by: " + by.format(DISPLAY_FORMAT) + ")";
+        }
+        return "[D]" + super.render() + byText;
     }
 }
@@ -0,0 +1,89 @@
+package cathy.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Date-ordered index of {@link Deadline} tasks: a {@link TreeMap} from due time, in whole minutes,
+ * to the deadlines due then.
+ * <p>
+ * Deadlines due in the same minute are kept in list order, so every query walks the map in key
+ * order and returns its results already sorted by due time, then list order.
+ */
+class DeadlineIndex implements TaskIndex {
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private final TreeMap<Long, List<Deadline>> byMinute = new TreeMap<>();
+
+    @Override
+    public void add(Task t) {
+        if (t instanceof Deadline d) {
+            List<Deadline> due = byMinute.computeIfAbsent(minute(d), k -> new ArrayList<>(1));
+            int at = due.size();
+            while (at > 0 && due.get(at - 1).id > t.id) {
+                at--;
+            }
+            due.add(at, d);
+        }
+    }
+
+    @Override
+    public void remove(Task t) {
+        if (t instanceof Deadline d) {
+            Long key = minute(d);
+            List<Deadline> due = byMinute.get(key);
+            if (due != null && due.remove(d) && due.isEmpty()) {
+                byMinute.remove(key);
+            }
+        }
+    }
+
+    private static long minute(Deadline d) {
+        return EpochTime.toEpochMinute(d.getBy());
+    }
+
+    /**
+     * Returns the deadlines due on the given day.
+     */
+    List<Deadline> deadlinesOn(LocalDate date) {
+        long dayStart = EpochTime.toEpochMinute(date.atStartOfDay());
+        return flatten(byMinute.subMap(dayStart, true, dayStart + MINUTES_PER_DAY - 1, true), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the deadlines due from {@code from} to {@code to}, both inclusive (to the minute).
+     */
+    List<Deadline> deadlinesBetween(LocalDateTime from, LocalDateTime to) {
+        long lo = EpochTime.toEpochMinute(from);
+        long hi = EpochTime.toEpochMinute(to);
+        if (lo > hi) {
+            return List.of();
+        }
+        return flatten(byMinute.subMap(lo, true, hi, true), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns up to {@code limit} deadlines due at or after {@code from}, soonest first.
+     */
+    List<Deadline> upcoming(LocalDateTime from, int limit) {
+        return flatten(byMinute.tailMap(EpochTime.toEpochMinute(from), true), limit);
+    }
+
+    private static List<Deadline> flatten(NavigableMap<Long, List<Deadline>> range, int limit) {
+        ArrayList<Deadline> out = new ArrayList<>();
+        for (Map.Entry<Long, List<Deadline>> entry : range.entrySet()) {
+            for (Deadline d : entry.getValue()) {
+                if (out.size() == limit) {
+                    return out;
+                }
+                out.add(d);
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,39 @@
+package cathy.task;
+
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Counts tasks by normalized description (trimmed, lower-cased), so that {@link TaskList}
+ * can tell whether a description is already taken in constant time.
+ * <p>
+ * Descriptions are counted rather than stored in a set, since a list loaded from disk may
+ * already contain duplicates and removing one of them must not hide the other.
+ */
+class DescriptionIndex implements TaskIndex {
+    private final HashMap<String, Integer> counts = new HashMap<>();
+
+    /**
+     * Returns the key a description is indexed under.
+     *
+     * @param description the description
+     * @return the trimmed, lower-cased description
+     */
+    static String normalize(String description) {
+        return description.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void add(Task t) {
+        counts.merge(normalize(t.getDescription()), 1, Integer::sum);
+    }
+
+    @Override
+    public void remove(Task t) {
+        counts.computeIfPresent(normalize(t.getDescription()), (k, n) -> n > 1 ? n - 1 : null);
+    }
+
+    boolean contains(String description) {
+        return counts.containsKey(normalize(description));
+    }
+}
@@ -0,0 +1,48 @@
+package cathy.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Converts task date/times to and from plain numbers, for indexes and compact storage.
+ * <p>
+ * Date/times are treated as UTC, so the numbers do not depend on the time zone. Conversions
+ * round down, also before 1970, so a date/time always falls in the minute that contains it.
+ */
+public final class EpochTime {
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private EpochTime() {
+    }
+
+    /**
+     * Converts a date/time to whole seconds since the epoch.
+     *
+     * @param dt the date/time
+     * @return the epoch second, rounded down; the fraction is {@code dt.getNano()}
+     */
+    public static long toEpochSecond(LocalDateTime dt) {
+        return dt.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts seconds since the epoch, and a fraction of a second, back to a date/time.
+     *
+     * @param second the epoch second
+     * @param nano   the nanosecond within that second
+     * @return the date/time
+     */
+    public static LocalDateTime fromEpochSecond(long second, int nano) {
+        return LocalDateTime.ofEpochSecond(second, nano, ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts a date/time to whole minutes since the epoch.
+     *
+     * @param dt the date/time
+     * @return the epoch minute, rounded down
+     */
+    public static long toEpochMinute(LocalDateTime dt) {
+        return Math.floorDiv(toEpochSecond(dt), SECONDS_PER_MINUTE);
+    }
+}
@@ -1,8 +1,7 @@
 package cathy.task;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalTime;
 
 import cathy.exception.InvalidDateTimeException;
 
@@ -20,7 +19,7 @@ import cathy.exception.InvalidDateTimeException;
  * <ul>
  *   <li>ISO-8601 (default, e.g. {@code 2025-09-01T18:00})</li>
  *   <li>{@code yyyy-MM-dd HHmm} (e.g. {@code 2025-09-01 1800})</li>
- *   <li>{@code yyyy-MM-dd} (date-only, defaults to start of day)</li>
+ *   <li>{@code yyyy-MM-dd} (date-only: the start of the day for {@code from}, 23:59 for {@code to})</li>
  * </ul>
  *
  * <p>If parsing fails, an {@link InvalidDateTimeException} is thrown.
@@ -31,6 +30,8 @@ public class Event extends Task {
     protected LocalDateTime from;
     protected LocalDateTime to;
     protected TaskType type;
+    /** The formatted {@code (from: ... to: ...)} part of {@link #toString()}, or null until first needed. */
+    private String rangeText;
 
     /**
      * Constructs a new {@code Event} with the given description, start time, and end time.
@@ -74,62 +75,19 @@ public class Event extends Task {
     }
 
     private static LocalDateTime parseFlexibleStart(String raw) {
-        String s;
-        s = raw.trim().replace("/", "-");
-        // ISO datetime
-        try {
-            return LocalDateTime.parse(s);
-        } catch (Exception ignored) {
-            // ignored
-        }
-        // Explicit datetime
-        DateTimeFormatter[] dt = new DateTimeFormatter[] {
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"),
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
-        };
-        for (DateTimeFormatter f : dt) {
-            try {
-                return LocalDateTime.parse(s, f);
-            } catch (Exception ignored) {
-                // ignore
-            }
-        }
-        // Date-only -> 00:00
-        try {
-            LocalDate d = LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE);
-            return d.atStartOfDay();
-        } catch (Exception e) {
+        LocalDateTime dt = DateTimeParser.parse(raw, LocalTime.MIDNIGHT);
+        if (dt == null) {
             throw new InvalidDateTimeException("Could not parse event start: " + raw);
         }
+        return dt;
     }
 
     private static LocalDateTime parseFlexibleEnd(String raw) {
-        String s = raw.trim().replace("/", "-");
-        // ISO datetime
-        try {
-            return LocalDateTime.parse(s);
-        } catch (Exception ignored) {
-            // ignore
-        }
-        // Explicit datetime
-        DateTimeFormatter[] dt = new DateTimeFormatter[]{
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"),
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
-        };
-        for (DateTimeFormatter f : dt) {
-            try {
-                return LocalDateTime.parse(s, f);
-            } catch (Exception ignored) {
-                // ignore
-            }
-        }
-        // Date-only → 23:59
-        try {
-            LocalDate d = LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE);
-            return d.atTime(23, 59);
-        } catch (Exception e) {
+        LocalDateTime dt = DateTimeParser.parse(raw, DateTimeParser.END_OF_DAY);
+        if (dt == null) {
             throw new InvalidDateTimeException("Could not parse event end: " + raw);
         }
+        return dt;
     }
 
     /**
@@ -151,16 +109,17 @@ public class Event extends Task {
     }
 
     /**
-     * Returns a string representation of this {@code Event}.
+     * Builds the string representation of this {@code Event}.
      * The output includes the task type marker {@code [E]}, the description,
-     * and the formatted start and end date/times.
+     * and the formatted start and end date/times, which are kept for the next time the task is shown.
      *
      * @return formatted string for display
      */
     @Override
-    public String toString() {
-        DateTimeFormatter outputFormat = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mma");
-        return "[E]" + super.toString()
-                + " (from: " + this.from.format(outputFormat) + " to: " + this.to.format(outputFormat) + ")";
+    protected String render() {
+        if (rangeText == null) {
+            rangeText = " (from: " + from.format(DISPLAY_FORMAT) + " to: " + to.format(DISPLAY_FORMAT) + ")";
+        }
+        return "[E]" + super.render() + rangeText;
     }
 }
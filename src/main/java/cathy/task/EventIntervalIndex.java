@@ -0,0 +1,153 @@
+package cathy.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Interval index over the {@code from}/{@code to} ranges of {@link Event} tasks.
+ * <p>
+ * Events are kept in a treap (a randomly balanced binary search tree) ordered by start time and
+ * then id. Every node also records the latest end time in its subtree, so a search
+ * for events overlapping a range can skip any subtree that ends before the range starts, and
+ * everything right of a node that starts after the range ends. Finding the {@code k} events on a
+ * given day therefore takes O((k + 1) log n) expected time instead of a scan over the whole list,
+ * since each event found can cost a walk down the tree past events that end too early.
+ * Times are compared in whole minutes.
+ */
+class EventIntervalIndex implements TaskIndex {
+    private static final class Node {
+        private final long from;
+        private final long to;
+        private final long id;
+        private final Event event;
+        private final int priority;
+        private long maxTo;
+        private Node left;
+        private Node right;
+
+        private Node(Event event, long id, int priority) {
+            this.from = EpochTime.toEpochMinute(event.getFrom());
+            this.to = EpochTime.toEpochMinute(event.getTo());
+            this.id = id;
+            this.event = event;
+            this.priority = priority;
+            this.maxTo = to;
+        }
+
+        private boolean isBefore(long otherFrom, long otherId) {
+            return from < otherFrom || (from == otherFrom && id < otherId);
+        }
+
+        private Node update() {
+            maxTo = to;
+            if (left != null) {
+                maxTo = Math.max(maxTo, left.maxTo);
+            }
+            if (right != null) {
+                maxTo = Math.max(maxTo, right.maxTo);
+            }
+            return this;
+        }
+    }
+
+    private final Random random = new Random();
+    private Node root;
+
+    @Override
+    public void add(Task t) {
+        if (t instanceof Event e) {
+            Node node = new Node(e, t.id, random.nextInt());
+            Node[] parts = split(root, node.from, node.id);
+            root = merge(merge(parts[0], node), parts[1]);
+        }
+    }
+
+    @Override
+    public void remove(Task t) {
+        if (t instanceof Event e) {
+            root = remove(root, EpochTime.toEpochMinute(e.getFrom()), t.id);
+        }
+    }
+
+    /**
+     * Returns the events that overlap the given day, ordered by start time and then list order.
+     *
+     * @param date the day
+     * @return events starting on or before {@code date} and ending on or after it
+     */
+    List<Event> eventsOn(LocalDate date) {
+        long dayStart = EpochTime.toEpochMinute(date.atStartOfDay());
+        ArrayList<Event> hits = new ArrayList<>();
+        collect(root, dayStart, dayStart + 24 * 60 - 1, hits);
+        return hits;
+    }
+
+    /**
+     * Adds, in order, the events of the subtree that overlap minutes {@code [lo, hi]}.
+     */
+    private static void collect(Node node, long lo, long hi, List<Event> out) {
+        if (node == null || node.maxTo < lo) {
+            return;
+        }
+        collect(node.left, lo, hi, out);
+        if (node.from > hi) {
+            return; // this node and everything to its right start too late
+        }
+        if (node.to >= lo) {
+            out.add(node.event);
+        }
+        collect(node.right, lo, hi, out);
+    }
+
+    /**
+     * Splits the subtree into nodes ordered before {@code (from, id)} and the rest.
+     */
+    private static Node[] split(Node node, long from, long id) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (node.isBefore(from, id)) {
+            Node[] parts = split(node.right, from, id);
+            node.right = parts[0];
+            return new Node[] {node.update(), parts[1]};
+        }
+        Node[] parts = split(node.left, from, id);
+        node.left = parts[1];
+        return new Node[] {parts[0], node.update()};
+    }
+
+    /**
+     * Joins two subtrees where every node of {@code a} is ordered before every node of {@code b}.
+     */
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return a.update();
+        }
+        b.left = merge(a, b.left);
+        return b.update();
+    }
+
+    private static Node remove(Node node, long from, long id) {
+        if (node == null) {
+            return null;
+        }
+        if (node.from == from && node.id == id) {
+            return merge(node.left, node.right);
+        }
+        if (node.isBefore(from, id)) {
+            node.right = remove(node.right, from, id);
+        } else {
+            node.left = remove(node.left, from, id);
+        }
+        return node.update();
+    }
+}
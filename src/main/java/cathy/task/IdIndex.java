@@ -0,0 +1,24 @@
+package cathy.task;
+
+import java.util.HashMap;
+
+/**
+ * Map from task id to task, for constant-time lookup by id.
+ */
+class IdIndex implements TaskIndex {
+    private final HashMap<Long, Task> byId = new HashMap<>();
+
+    @Override
+    public void add(Task t) {
+        byId.put(t.id, t);
+    }
+
+    @Override
+    public void remove(Task t) {
+        byId.remove(t.id, t);
+    }
+
+    Task get(long id) {
+        return byId.get(id);
+    }
+}
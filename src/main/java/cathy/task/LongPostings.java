@@ -0,0 +1,83 @@
+package cathy.task;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of task ids, stored as a growable {@code long[]}.
+ * <p>
+ * Tasks are added in increasing id order, so adding is usually an append.
+ */
+class LongPostings {
+    private long[] values = new long[2];
+    private int size;
+
+    void add(long value) {
+        if (size > 0 && values[size - 1] >= value) {
+            int at = Arrays.binarySearch(values, 0, size, value);
+            if (at >= 0) {
+                return;
+            }
+            insert(-at - 1, value);
+            return;
+        }
+        insert(size, value);
+    }
+
+    private void insert(int at, long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, at, values, at + 1, size - at);
+        values[at] = value;
+        size++;
+    }
+
+    void remove(long value) {
+        int at = Arrays.binarySearch(values, 0, size, value);
+        if (at < 0) {
+            return;
+        }
+        System.arraycopy(values, at + 1, values, at, size - at - 1);
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(int i) {
+        return values[i];
+    }
+
+    /**
+     * Returns the values as a new sorted array.
+     */
+    long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Returns the values of the sorted array {@code candidates} that are also in this set.
+     * Looks each candidate up by binary search, so a short candidate list is cheap to check
+     * against a long set.
+     */
+    long[] retain(long[] candidates) {
+        long[] out = new long[candidates.length];
+        int n = 0;
+        int from = 0;
+        for (long c : candidates) {
+            int at = Arrays.binarySearch(values, from, size, c);
+            if (at >= 0) {
+                out[n++] = c;
+                from = at + 1;
+            } else {
+                from = -at - 1;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
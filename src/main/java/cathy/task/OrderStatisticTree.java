@@ -0,0 +1,305 @@
+package cathy.task;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+/**
+ * A list backed by an implicit treap: a randomly balanced binary tree in which each node knows the
+ * size of its subtree, so a node's position is found by counting instead of by key.
+ * <p>
+ * {@link #get(int)}, {@link #set(int, Object)}, {@link #add(int, Object)} and {@link #remove(int)}
+ * all take O(log n) expected time, so removing from the front of a long list does not shift every
+ * later element as {@link java.util.ArrayList} does. Iterating is O(n) overall; prefer it over
+ * calling {@code get(i)} in a loop, which costs O(log n) per element.
+ * <p>
+ * {@link #snapshot()} copies the list in O(1) time by sharing the tree: after a snapshot, a change
+ * copies the nodes it touches instead of changing them in place ("copy on write").
+ * <p>
+ * Not thread-safe, although a snapshot may be read on another thread while the list changes.
+ * Iterators fail fast on structural changes, like those of the standard lists.
+ *
+ * @param <E> the element type
+ */
+class OrderStatisticTree<E> extends AbstractList<E> {
+    private static final class Node<E> {
+        private E value;
+        private final int priority;
+        private final int version;
+        private int size = 1;
+        private Node<E> left;
+        private Node<E> right;
+
+        private Node(E value, int priority, int version) {
+            this.value = value;
+            this.priority = priority;
+            this.version = version;
+        }
+
+        private Node(Node<E> other, int version) {
+            this(other.value, other.priority, version);
+            this.size = other.size;
+            this.left = other.left;
+            this.right = other.right;
+        }
+    }
+
+    private final Random random = new Random();
+    private Node<E> root;
+    // Nodes of an older version may be shared with a snapshot and are copied before changing
+    private int version;
+    // Results of split(), which returns two subtrees
+    private Node<E> splitLeft;
+    private Node<E> splitRight;
+
+    /**
+     * Creates an empty list.
+     */
+    OrderStatisticTree() {
+    }
+
+    /**
+     * Creates a list holding the given elements, in iteration order. Takes O(n) time.
+     *
+     * @param values the initial elements
+     */
+    OrderStatisticTree(Collection<? extends E> values) {
+        // Build the treap as a Cartesian tree on a stack: each node adopts the run of lower-priority
+        // nodes before it as its left subtree.
+        ArrayDeque<Node<E>> spine = new ArrayDeque<>();
+        for (E value : values) {
+            Node<E> node = new Node<>(value, random.nextInt(), version);
+            Node<E> last = null;
+            while (!spine.isEmpty() && spine.peek().priority < node.priority) {
+                last = spine.pop();
+            }
+            node.left = last;
+            if (!spine.isEmpty()) {
+                spine.peek().right = node;
+            }
+            spine.push(node);
+        }
+        root = spine.peekLast();
+        computeSizes(root);
+    }
+
+    private static int computeSizes(Node<?> node) {
+        if (node == null) {
+            return 0;
+        }
+        node.size = 1 + computeSizes(node.left) + computeSizes(node.right);
+        return node.size;
+    }
+
+    /**
+     * Returns the node itself if only this list uses it, or else a copy to change in its place.
+     */
+    private Node<E> own(Node<E> node) {
+        return node.version == version ? node : new Node<>(node, version);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <E> Node<E> update(Node<E> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, size());
+        return nodeAt(index).value;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        Objects.checkIndex(index, size());
+        E old = nodeAt(index).value;
+        root = setAt(root, index, element);
+        return old;
+    }
+
+    private Node<E> setAt(Node<E> node, int index, E element) {
+        node = own(node);
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            node.left = setAt(node.left, index, element);
+        } else if (index == leftSize) {
+            node.value = element;
+        } else {
+            node.right = setAt(node.right, index - leftSize - 1, element);
+        }
+        return node;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        Objects.checkIndex(index, size() + 1);
+        split(root, index);
+        Node<E> right = splitRight;
+        root = merge(merge(splitLeft, new Node<>(element, random.nextInt(), version)), right);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        Objects.checkIndex(index, size());
+        split(root, index);
+        Node<E> left = splitLeft;
+        split(splitRight, 1);
+        E removed = splitLeft.value;
+        root = merge(left, splitRight);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    /**
+     * Returns an unmodifiable copy of the list in O(1) time. The copy shares this list's tree, so
+     * until every shared node has been copied, each change to this list allocates O(log n) more.
+     * Later changes to this list do not show in the copy, although the elements themselves are shared.
+     *
+     * @return the copy
+     */
+    public List<E> snapshot() {
+        OrderStatisticTree<E> copy = new OrderStatisticTree<>();
+        copy.root = root;
+        version++;
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Returns the position of the first element whose key is at least {@code target}, assuming the
+     * elements are in increasing key order. Takes O(log n) time.
+     *
+     * @param key    extracts the key of an element
+     * @param target the key to look for
+     * @return the position found, or {@code size()} if every key is smaller
+     */
+    int lowerBound(ToLongFunction<? super E> key, long target) {
+        int index = 0;
+        Node<E> node = root;
+        while (node != null) {
+            if (key.applyAsLong(node.value) < target) {
+                index += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return index;
+    }
+
+    private Node<E> nodeAt(int index) {
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Splits the subtree into its first {@code k} elements ({@code splitLeft}) and the rest
+     * ({@code splitRight}).
+     */
+    private void split(Node<E> node, int k) {
+        if (node == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        node = own(node);
+        if (size(node.left) >= k) {
+            split(node.left, k);
+            node.left = splitRight;
+            splitRight = update(node);
+        } else {
+            split(node.right, k - size(node.left) - 1);
+            node.right = splitLeft;
+            splitLeft = update(node);
+        }
+    }
+
+    private Node<E> merge(Node<E> a, Node<E> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a = own(a);
+            a.right = merge(a.right, b);
+            return update(a);
+        }
+        b = own(b);
+        b.left = merge(a, b.left);
+        return update(b);
+    }
+
+    /**
+     * Walks the tree in order with an explicit stack, visiting each node once.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private final ArrayDeque<Node<E>> stack = new ArrayDeque<>();
+            private final int expectedModCount = modCount;
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(Node<E> node) {
+                for (Node<E> n = node; n != null; n = n.left) {
+                    stack.push(n);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (stack.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> node = stack.pop();
+                pushLeft(node.right);
+                return node.value;
+            }
+        };
+    }
+}
@@ -1,14 +1,27 @@
 package cathy.task;
 
+import java.time.format.DateTimeFormatter;
+
 /**
  * Represents a general task with a description and a completion status.
  * <p>
  * This is the base class for more specific task types such as
  * {@link Deadline} and {@link Event}.
+ * <p>
+ * The string from {@link #toString()} is built once by {@link #render()} and kept until the task
+ * is marked or unmarked, the only changes a task allows, since lists are shown far more often than
+ * tasks are edited.
  */
 public class Task {
+    /** How the task types show their dates, e.g. {@code Sep 10 2025, 11:59PM}. */
+    static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mma");
+
     protected String description;
     protected boolean isDone;
+    /** Stable id, assigned by the {@link TaskList} the task joins; 0 until then. */
+    long id;
+    /** What {@link #toString()} returns, or null until it is next needed. */
+    private String rendered;
 
     /**
      * Constructs a new {@code Task} with the given description.
@@ -30,6 +43,27 @@ public class Task {
         return description;
     }
 
+    /**
+     * Returns the id of this task. Ids are assigned when a task is added to a {@link TaskList},
+     * increase in list order, and do not change when other tasks are added or deleted.
+     *
+     * @return the id, or 0 if the task has not been added to a list yet
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Restores an id read back from storage, before the task is added to a {@link TaskList}.
+     * The list keeps it as long as ids still increase in list order.
+     *
+     * @param id the stored id
+     */
+    public void restoreId(long id) {
+        assert id >= 0 : "Task: id must not be negative";
+        this.id = id;
+    }
+
     /**
      * Returns the status icon for the task.
      * <ul>
@@ -48,6 +82,7 @@ public class Task {
      */
     public void markAsDone() {
         this.isDone = true;
+        this.rendered = null;
     }
 
     /**
@@ -55,17 +90,32 @@ public class Task {
      */
     public void markAsNotDone() {
         this.isDone = false;
+        this.rendered = null;
     }
 
     /**
-     * Returns a string representation of this task,
-     * including its status icon and description.
+     * Builds the string representation of this task, including its status icon and description.
+     * Subclasses extend this rather than {@link #toString()}, which caches the result.
      *
      * @return A formatted string in the form:
      *     {@code [status] description}.
      */
+    protected String render() {
+        return "[" + this.getStatusIcon() + "] " + this.description;
+    }
+
+    /**
+     * Returns a string representation of this task, as built by {@link #render()}.
+     *
+     * @return the cached representation
+     */
     @Override
     public String toString() {
-        return "[" + this.getStatusIcon() + "] " + this.description;
+        String s = rendered;
+        if (s == null) {
+            s = render();
+            rendered = s;
+        }
+        return s;
     }
 }
@@ -0,0 +1,13 @@
+package cathy.task;
+
+/**
+ * A secondary index over the tasks of a {@link TaskList}, kept up to date as tasks come and go.
+ * <p>
+ * {@link TaskList} calls {@link #add(Task)} for every task it gains and {@link #remove(Task)} for
+ * every task it loses; replacing a task counts as a removal followed by an add.
+ */
+interface TaskIndex {
+    void add(Task t);
+
+    void remove(Task t);
+}
@@ -1,26 +1,170 @@
 package cathy.task;
 
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 
 /**
- * A wrapper around an {@link ArrayList} of {@link Task} objects,
- * providing simple, focused operations for Cathy to use.
+ * A list of {@link Task} objects, providing simple, focused operations for Cathy to use.
+ * <p>
+ * Tasks are held in an {@link OrderStatisticTree}, so getting, replacing and removing a task by
+ * its position all take O(log n) time, however long the list is. A list made by {@link #columnar()}
+ * or {@link #offHeap()} keeps its tasks in a {@link ColumnarTaskStore} instead, on or off the Java
+ * heap. That needs far less memory per task but builds a new {@link Task} object on every read;
+ * change such tasks through this class (for example with {@link #setDone(int, boolean)}), not
+ * through the objects it hands out.
+ * <p>
+ * Keeps secondary indexes ({@link TaskIndex}) in step with every change, so duplicate checks and
+ * word and date searches do not scan the list. Each index is built the first time it is needed,
+ * so lists that are never searched (such as search results) do not pay for it.
+ * <p>
+ * Every task is given an id when it joins the list, increasing in list order; the indexes refer
+ * to tasks by id, and tasks can be looked up by id whatever their current position. A list made
+ * with {@link #viewOf(List)}, such as a list of search results, leaves ids to the tasks' own list.
+ * In a columnar list, duplicate checks and date and substring searches scan the columns instead
+ * of using indexes.
  */
 public class TaskList {
-    private final ArrayList<Task> items;
+    private final TaskStore items;
+    private final ColumnarTaskStore columns;
+    private final ArrayList<TaskIndex> indexes = new ArrayList<>();
+    private DescriptionIndex descriptions;
+    private TokenIndex tokens;
+    private TrigramIndex trigrams;
+    private EventIntervalIndex events;
+    private DeadlineIndex deadlines;
+    private IdIndex ids;
+    private final boolean ownsTasks;
+    private long lastId;
 
     /**
      * Creates an empty task list.
      */
     public TaskList() {
-        this.items = new ArrayList<>();
+        this(new TreeTaskStore());
+    }
+
+    private TaskList(TaskStore items) {
+        this(items, true);
+    }
+
+    private TaskList(TaskStore items, boolean ownsTasks) {
+        this.items = items;
+        this.columns = items instanceof ColumnarTaskStore c ? c : null;
+        this.ownsTasks = ownsTasks;
+    }
+
+    /**
+     * Creates a list that shows tasks belonging to another list, such as the results of a search,
+     * in the order given. Unlike a list made with {@link #TaskList(ArrayList)}, it gives no ids:
+     * the tasks keep the ids of the list they came from, and so do tasks added to it later, so
+     * references to them by id stay valid.
+     *
+     * @param tasks the tasks to show, in their own list's order
+     * @return the new list
+     */
+    public static TaskList viewOf(List<Task> tasks) {
+        return new TaskList(new TreeTaskStore(tasks), false);
+    }
+
+    /**
+     * Creates an empty task list that stores its tasks column by column, for very long lists.
+     *
+     * @return the new list
+     */
+    public static TaskList columnar() {
+        return new TaskList(new ColumnarTaskStore());
     }
 
     /**
-     * Creates a task list seeded with existing tasks.
+     * Creates an empty columnar task list whose columns live outside the Java heap, so the
+     * garbage collector does not have to deal with them however many tasks there are.
+     *
+     * @return the new list
+     */
+    public static TaskList offHeap() {
+        return new TaskList(new ColumnarTaskStore(ColumnMemory.DIRECT));
+    }
+
+    /**
+     * Creates an empty columnar task list whose columns live in memory-mapped scratch files in
+     * {@code dir}, which the operating system can page out to disk. The files only hold the list
+     * while it is in use; save it with {@link cathy.storage.Storage} as usual.
+     *
+     * @param dir the directory for the scratch files
+     * @return the new list
+     */
+    public static TaskList offHeap(Path dir) {
+        return new TaskList(new ColumnarTaskStore(ColumnMemory.mapped(dir)));
+    }
+
+    /**
+     * Creates a task list seeded with existing tasks. The tasks are copied;
+     * later changes to {@code existing} do not affect this list.
      */
     public TaskList(ArrayList<Task> existing) {
-        this.items = (existing == null) ? new ArrayList<>() : existing;
+        this(existing == null ? new TreeTaskStore() : new TreeTaskStore(existing));
+        for (Task t : items) {
+            assignId(t);
+        }
+    }
+
+    /**
+     * Gives {@code t} an id after every task already in the list. A task that already has a later
+     * id (one restored from storage, or taken from another list in order) keeps it. Views give no ids.
+     */
+    private void assignId(Task t) {
+        if (!ownsTasks) {
+            return;
+        }
+        if (t.id <= lastId) {
+            t.id = lastId + 1;
+        }
+        lastId = t.id;
+    }
+
+    /**
+     * Returns whether an index of the given type is kept for this list. For tests.
+     */
+    boolean hasIndex(Class<? extends TaskIndex> type) {
+        for (TaskIndex index : indexes) {
+            if (type.isInstance(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the highest id this list has given out. It stays the same when the task that had it
+     * is removed, so storage can save it and the id is not given out again after a restart.
+     *
+     * @return the highest id given out, or 0 if none
+     */
+    public long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Restores the highest id given out, read back from storage, so that no id up to it is given
+     * to a new task. Lower values are ignored.
+     *
+     * @param lastId the stored highest id
+     */
+    public void restoreLastId(long lastId) {
+        this.lastId = Math.max(this.lastId, lastId);
+    }
+
+    private <I extends TaskIndex> I register(I index) {
+        for (Task t : items) {
+            index.add(t);
+        }
+        indexes.add(index);
+        return index;
     }
 
     /**
@@ -41,27 +185,208 @@ public class TaskList {
     }
 
     /**
-     * Returns the underlying list of tasks.
+     * Returns a read-only view of the tasks.
      * <p>
-     * Note: this exposes the actual list object,
-     * so modifications to it will affect this {@code TaskList}.
+     * The view reflects later changes to this {@code TaskList}; use {@link #add(Task)},
+     * {@link #set(int, Task)} and {@link #removeAt(int)} to change it.
      *
      * @return the list of tasks
      */
-    public ArrayList<Task> getTasks() {
-        return items;
+    public List<Task> getTasks() {
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Returns an unmodifiable copy of the list as it is now, which may be read on another thread
+     * while this list keeps changing. For the default list this takes O(1) time, as the copy shares
+     * the list's tree; a columnar list copies its columns in bulk, without building task objects.
+     * The tasks of the default list are shared with the copy, so a task marked done afterwards may
+     * show as done in it.
+     *
+     * @return the copy
+     */
+    public List<Task> snapshot() {
+        return items.snapshot();
     }
 
     /**
-     * Returns error message if duplicates are detected.
+     * Returns whether a task with the same description (ignoring case and surrounding spaces)
+     * is already in the list. A columnar list scans its text column instead of keeping an index
+     * of descriptions on the heap.
      *
-     * @param description
+     * @param description the description to look up
      * @return True / False
      */
     public boolean containsTask(String description) {
-        // Check if any existing task has the same description (case-insensitive)
-        return items.stream()
-                .anyMatch(t -> t.getDescription().equalsIgnoreCase(description.trim()));
+        if (columns != null) {
+            return columns.containsDescription(description);
+        }
+        if (descriptions == null) {
+            descriptions = register(new DescriptionIndex());
+        }
+        return descriptions.contains(description);
+    }
+
+    /**
+     * Returns the task with the given id, in constant time (O(log n) in a columnar list).
+     *
+     * @param id the task id
+     * @return the task, or null if no task in this list has that id
+     */
+    public Task getById(long id) {
+        if (columns != null) {
+            int at = columns.indexOfId(id);
+            return at < 0 ? null : columns.get(at);
+        }
+        if (ids == null) {
+            ids = register(new IdIndex());
+        }
+        return ids.get(id);
+    }
+
+    /**
+     * Returns the current zero-based position of the task with the given id.
+     *
+     * @param id the task id
+     * @return the position, or -1 if no task in this list has that id
+     */
+    public int indexOfId(long id) {
+        return items.indexOfId(id);
+    }
+
+    /**
+     * Returns the tasks, in list order, that may contain {@code keyword}: every task whose
+     * lower-cased description does is included, but some others may be too, so callers should
+     * check each one. Keywords of three or more characters are narrowed down through a trigram
+     * index. Shorter ones made only of letters and digits are looked up in a word index, and any
+     * other short keyword returns every task. A columnar list scans its descriptions instead.
+     *
+     * @param keyword the lower-cased keyword
+     * @return the candidate tasks
+     */
+    public List<Task> findSubstringCandidates(String keyword) {
+        if (columns != null) {
+            return columns.substringCandidates(keyword);
+        }
+        if (keyword.length() < TrigramIndex.GRAM) {
+            if (!TokenIndex.isWordPart(keyword)) {
+                return getTasks();
+            }
+            if (tokens == null) {
+                tokens = register(new TokenIndex());
+            }
+            return resolve(tokens.findInWords(keyword));
+        }
+        if (trigrams == null) {
+            trigrams = register(new TrigramIndex());
+        }
+        return resolve(trigrams.candidates(keyword));
+    }
+
+    /**
+     * Returns the events that take place (at least partly) on the given day,
+     * ordered by start time and then by list order.
+     *
+     * @param date the day
+     * @return the events overlapping {@code date}
+     */
+    public List<Event> eventsOn(LocalDate date) {
+        if (columns != null) {
+            return columns.eventsOn(date);
+        }
+        return eventIndex().eventsOn(date);
+    }
+
+    /**
+     * Returns the deadlines due and the events taking place on the given day, in list order.
+     * The date indexes return their hits in date order, so the {@code k} hits are then sorted
+     * into list order, in O(k log k) time.
+     *
+     * @param date the day
+     * @return the dated tasks on {@code date}
+     */
+    public List<Task> datedOn(LocalDate date) {
+        if (columns != null) {
+            return columns.datedOn(date);
+        }
+        List<Event> events = eventIndex().eventsOn(date);
+        List<Deadline> deadlines = deadlineIndex().deadlinesOn(date);
+        ArrayList<Task> hits = new ArrayList<>(events.size() + deadlines.size());
+        hits.addAll(events);
+        hits.addAll(deadlines);
+        hits.sort(Comparator.comparingLong(Task::getId)); // ids increase in list order
+        return hits;
+    }
+
+    /**
+     * Returns the deadlines due on the given day, ordered by due time and then by list order.
+     *
+     * @param date the day
+     * @return the deadlines due on {@code date}
+     */
+    public List<Deadline> deadlinesOn(LocalDate date) {
+        if (columns != null) {
+            return columns.deadlinesOn(date);
+        }
+        return deadlineIndex().deadlinesOn(date);
+    }
+
+    /**
+     * Returns the deadlines due between two times, both inclusive, ordered by due time and then by
+     * list order.
+     *
+     * @param from the earliest due time
+     * @param to   the latest due time
+     * @return the deadlines due in that range; empty if {@code from} is after {@code to}
+     */
+    public List<Deadline> deadlinesBetween(LocalDateTime from, LocalDateTime to) {
+        if (columns != null) {
+            return columns.deadlinesBetween(EpochTime.toEpochMinute(from),
+                    EpochTime.toEpochMinute(to));
+        }
+        return deadlineIndex().deadlinesBetween(from, to);
+    }
+
+    /**
+     * Returns the next deadlines due at or after the given time, soonest first.
+     *
+     * @param from  the time to look ahead from
+     * @param limit the most deadlines to return
+     * @return up to {@code limit} upcoming deadlines
+     */
+    public List<Deadline> upcomingDeadlines(LocalDateTime from, int limit) {
+        if (columns != null) {
+            return columns.upcomingDeadlines(EpochTime.toEpochMinute(from), limit);
+        }
+        return deadlineIndex().upcoming(from, limit);
+    }
+
+    private DeadlineIndex deadlineIndex() {
+        if (deadlines == null) {
+            deadlines = register(new DeadlineIndex());
+        }
+        return deadlines;
+    }
+
+    private EventIntervalIndex eventIndex() {
+        if (events == null) {
+            events = register(new EventIntervalIndex());
+        }
+        return events;
+    }
+
+    /**
+     * Maps sorted ids back to tasks. Tasks are in increasing id order,
+     * so each one is found by a binary search on id.
+     */
+    private List<Task> resolve(long[] ids) {
+        ArrayList<Task> found = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            int at = items.indexOfId(id);
+            assert at >= 0 : "TaskList: indexed task missing";
+            found.add(items.get(at));
+        }
+        return found;
     }
 
     /**
@@ -70,17 +395,42 @@ public class TaskList {
      * @param t the task to add
      */
     public void add(Task t) {
+        assignId(t);
         items.add(t);
+        for (TaskIndex index : indexes) {
+            index.add(t);
+        }
     }
 
     /**
      * Replaces the task at the specified zero-based index.
+     * The new task takes over the old one's place in the list order, and its id unless this list is a view.
      *
      * @param index0 the zero-based index of the task to replace
      * @param t      the new task
      */
     public void set(int index0, Task t) {
-        items.set(index0, t);
+        Task old = items.set(index0, t);
+        for (TaskIndex index : indexes) {
+            index.remove(old);
+        }
+        if (ownsTasks) {
+            t.id = old.id;
+        }
+        for (TaskIndex index : indexes) {
+            index.add(t);
+        }
+    }
+
+    /**
+     * Marks the task at the specified zero-based index as done or not done.
+     *
+     * @param index0 the zero-based index of the task
+     * @param isDone the new status
+     * @return the task, with its new status
+     */
+    public Task setDone(int index0, boolean isDone) {
+        return items.setDone(index0, isDone);
     }
 
     /**
@@ -90,7 +440,11 @@ public class TaskList {
      * @return the removed task
      */
     public Task removeAt(int index0) {
-        return items.remove(index0);
+        Task removed = items.remove(index0);
+        for (TaskIndex index : indexes) {
+            index.remove(removed);
+        }
+        return removed;
     }
 
     /**
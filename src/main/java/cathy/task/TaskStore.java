@@ -0,0 +1,38 @@
+package cathy.task;
+
+import java.util.List;
+
+/**
+ * Where a {@link TaskList} keeps its tasks, in list order.
+ * <p>
+ * Only appending at the end is supported; tasks may be replaced or removed at any position.
+ * Ids increase in list order, which lets implementations find a task by id with a binary search.
+ * A store may hand out a fresh {@link Task} object on every {@link #get(int)}, so changes to a task
+ * must go through {@link #set(int, Object)} or {@link #setDone(int, boolean)}.
+ */
+interface TaskStore extends List<Task> {
+    /**
+     * Returns the position of the task with the given id.
+     *
+     * @param id the task id
+     * @return the zero-based position, or -1 if there is no such task
+     */
+    int indexOfId(long id);
+
+    /**
+     * Marks the task at the given position as done or not done.
+     *
+     * @param index  the zero-based position
+     * @param isDone the new status
+     * @return the task, with its new status
+     */
+    Task setDone(int index, boolean isDone);
+
+    /**
+     * Returns an unmodifiable copy of the store that may be read on another thread while the
+     * store keeps changing.
+     *
+     * @return the copy
+     */
+    List<Task> snapshot();
+}
@@ -25,14 +25,14 @@ public class ToDo extends Task {
     }
 
     /**
-     * Returns a string representation of this {@code ToDo}.
+     * Builds the string representation of this {@code ToDo}.
      * The output includes the task type marker {@code [T]} followed by
-     * the base {@link Task#toString()} output (description and status).
+     * the base {@link Task#render()} output (description and status).
      *
      * @return formatted string for display
      */
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected String render() {
+        return "[T]" + super.render();
     }
 }
@@ -0,0 +1,120 @@
+package cathy.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from description words to the tasks containing them.
+ * <p>
+ * Descriptions are lower-cased and split into words (runs of letters and digits). Each word maps
+ * to the sorted ids of its tasks. A keyword too short for the {@link TrigramIndex} is looked up by
+ * scanning the distinct words, which are usually far fewer than the tasks. Since ids follow list
+ * order, results come out in list order without sorting by position.
+ */
+class TokenIndex implements TaskIndex {
+    private final HashMap<String, LongPostings> postings = new HashMap<>();
+
+    /**
+     * Splits text into its distinct lower-cased words, in order of first appearance.
+     *
+     * @param text the text to split
+     * @return the words
+     */
+    static Set<String> tokenize(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean isWordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    @Override
+    public void add(Task t) {
+        for (String token : tokenize(t.getDescription())) {
+            postings.computeIfAbsent(token, k -> new LongPostings()).add(t.id);
+        }
+    }
+
+    @Override
+    public void remove(Task t) {
+        for (String token : tokenize(t.getDescription())) {
+            LongPostings p = postings.get(token);
+            if (p != null) {
+                p.remove(t.id);
+                if (p.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether {@code keyword} is made only of word characters, so that any description
+     * containing it has it inside a single word.
+     *
+     * @param keyword the lower-cased keyword
+     * @return whether the keyword is one word, or part of one
+     */
+    static boolean isWordPart(String keyword) {
+        if (keyword.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (!Character.isLetterOrDigit(keyword.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the tasks that have a word containing {@code keyword}. For a keyword made only of
+     * word characters (see {@link #isWordPart(String)}) these are exactly the tasks whose
+     * lower-cased description contains it. Only the distinct words are scanned, not the descriptions.
+     *
+     * @param keyword the lower-cased keyword
+     * @return the sorted ids of the matching tasks
+     */
+    long[] findInWords(String keyword) {
+        List<LongPostings> lists = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, LongPostings> e : postings.entrySet()) {
+            if (e.getKey().contains(keyword)) {
+                lists.add(e.getValue());
+                total += e.getValue().size();
+            }
+        }
+        if (lists.size() == 1) {
+            return lists.get(0).toArray();
+        }
+        long[] all = new long[total];
+        int n = 0;
+        for (LongPostings p : lists) {
+            for (int i = 0; i < p.size(); i++) {
+                all[n++] = p.get(i);
+            }
+        }
+        Arrays.sort(all);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || all[i] != all[i - 1]) {
+                all[distinct++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, distinct);
+    }
+}
@@ -0,0 +1,32 @@
+package cathy.task;
+
+import java.util.Collection;
+
+/**
+ * The default {@link TaskStore}: task objects held in an {@link OrderStatisticTree}.
+ */
+class TreeTaskStore extends OrderStatisticTree<Task> implements TaskStore {
+    TreeTaskStore() {
+    }
+
+    TreeTaskStore(Collection<Task> tasks) {
+        super(tasks);
+    }
+
+    @Override
+    public int indexOfId(long id) {
+        int at = lowerBound(Task::getId, id);
+        return at < size() && get(at).id == id ? at : -1;
+    }
+
+    @Override
+    public Task setDone(int index, boolean isDone) {
+        Task t = get(index);
+        if (isDone) {
+            t.markAsDone();
+        } else {
+            t.markAsNotDone();
+        }
+        return t;
+    }
+}
@@ -0,0 +1,80 @@
+package cathy.task;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Index from every three-character sequence (trigram) of the lower-cased descriptions to the
+ * tasks containing it.
+ * <p>
+ * Any description containing a keyword also contains each of the keyword's trigrams, so
+ * intersecting their postings, smallest first, narrows the candidates to a handful without
+ * looking at the other descriptions. The candidates still need a final {@code contains} check,
+ * since having all the trigrams does not mean having them in the right order.
+ * Each trigram is packed into a {@code long}, 16 bits per character.
+ */
+class TrigramIndex implements TaskIndex {
+    static final int GRAM = 3;
+    /** Below this many candidates, checking them directly is cheaper than further intersecting. */
+    private static final int FEW_CANDIDATES = 64;
+
+    private final HashMap<Long, LongPostings> postings = new HashMap<>();
+
+    private static long key(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    private static String lower(Task t) {
+        return t.getDescription().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void add(Task t) {
+        String s = lower(t);
+        for (int i = 0; i + GRAM <= s.length(); i++) {
+            postings.computeIfAbsent(key(s, i), k -> new LongPostings()).add(t.id);
+        }
+    }
+
+    @Override
+    public void remove(Task t) {
+        String s = lower(t);
+        for (int i = 0; i + GRAM <= s.length(); i++) {
+            Long key = key(s, i);
+            LongPostings p = postings.get(key);
+            if (p != null) {
+                p.remove(t.id);
+                if (p.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose lower-cased description contains every trigram of {@code keyword}.
+     *
+     * @param keyword the lower-cased keyword, at least {@value #GRAM} characters long
+     * @return the sorted ids of the candidate tasks
+     */
+    long[] candidates(String keyword) {
+        assert keyword.length() >= GRAM : "TrigramIndex: keyword too short";
+        int count = keyword.length() - GRAM + 1;
+        LongPostings[] lists = new LongPostings[count];
+        for (int i = 0; i < count; i++) {
+            lists[i] = postings.get(key(keyword, i));
+            if (lists[i] == null) {
+                return new long[0];
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+        long[] hits = lists[0].toArray();
+        for (int i = 1; i < count && hits.length > FEW_CANDIDATES; i++) {
+            if (lists[i] != lists[i - 1]) {
+                hits = lists[i].retain(hits);
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,61 @@
+package cathy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link ChatArchive}, the ring file that evicted chat messages are kept in.
+ */
+public class ChatArchiveTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void popsNewestFirst() throws IOException {
+        try (ChatArchive archive = new ChatArchive(tmp.resolve("chat.ring"), 1024)) {
+            archive.push(ChatMessage.logo());
+            archive.push(ChatMessage.fromUser("list"));
+            archive.push(ChatMessage.fromCathy("<ERROR>\nNope. Café closed."));
+
+            assertEquals(3, archive.size());
+            assertEquals(ChatMessage.fromCathy("<ERROR>\nNope. Café closed."), archive.pop());
+            assertEquals(ChatMessage.fromUser("list"), archive.pop());
+            assertEquals(ChatMessage.logo(), archive.pop());
+            assertNull(archive.pop());
+            assertTrue(archive.isEmpty());
+        }
+    }
+
+    @Test
+    void wrapsAroundAndDropsOldest() throws IOException {
+        try (ChatArchive archive = new ChatArchive(tmp.resolve("chat.ring"), 100)) {
+            for (int i = 0; i < 50; i++) {
+                archive.push(ChatMessage.fromUser("message " + i)); // 9 + 10 or 11 bytes each
+            }
+            assertEquals(5, archive.size());
+            for (int i = 49; i >= 45; i--) {
+                assertEquals("message " + i, archive.pop().text());
+            }
+            assertTrue(archive.isEmpty());
+
+            archive.push(ChatMessage.fromUser("again"));
+            assertEquals("again", archive.pop().text());
+        }
+    }
+
+    @Test
+    void cutsTextLongerThanTheArchive() throws IOException {
+        try (ChatArchive archive = new ChatArchive(tmp.resolve("chat.ring"), 32)) {
+            archive.push(ChatMessage.fromCathy("x".repeat(100)));
+            assertEquals("x".repeat(32 - 9), archive.pop().text());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package cathy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+
+/**
+ * Compares building a chat bubble with {@link DialogBox} against loading the FXML file it was
+ * previously built from, once per bubble. Runs on the JavaFX application thread, where bubbles are
+ * made, so it needs a display:
+ * <pre>{@code
+ * ./gradlew benchmark -PbenchmarkClass=cathy.DialogBoxBenchmark
+ * }</pre>
+ */
+public class DialogBoxBenchmark {
+    private static final int ROUNDS = 5;
+    private static final int BUBBLES = 2_000;
+
+    /** The markup of the removed {@code /view/DialogBox.fxml}, verbatim. */
+    private static final String FXML = """
+            <?xml version="1.0" encoding="UTF-8"?>
+
+            <?import javafx.geometry.Insets?>
+            <?import javafx.scene.control.Label?>
+            <?import javafx.scene.image.ImageView?>
+            <?import javafx.scene.layout.HBox?>
+
+            <fx:root alignment="TOP_RIGHT" maxHeight="1.7976931348623157E308" maxWidth="1.7976931348623157E308" \
+            prefWidth="400.0" stylesheets="@../css/dialog-box.css" type="javafx.scene.layout.HBox" \
+            xmlns="http://javafx.com/javafx/24.0.1" xmlns:fx="http://javafx.com/fxml/1">
+                <children>
+                    <Label fx:id="dialog" minHeight="-Infinity" text="Label" wrapText="true">
+                     <HBox.margin>
+                        <Insets left="7.0" right="10.0" />
+                     </HBox.margin>
+                     <padding>
+                        <Insets bottom="6.0" left="6.0" right="6.0" top="6.0" />
+                     </padding></Label>
+                    <ImageView fx:id="displayPicture" fitHeight="74.0" fitWidth="78.0" pickOnBounds="true" \
+            preserveRatio="true" />
+                </children>
+                <padding>
+                    <Insets bottom="15.0" left="5.0" right="5.0" top="15.0" />
+                </padding>
+            </fx:root>
+            """;
+
+    /**
+     * A bubble built the old way: an {@link FXMLLoader} parsing the markup for every instance.
+     */
+    static class FxmlBubble extends HBox {
+        @FXML
+        private Label dialog;
+        @FXML
+        private ImageView displayPicture;
+
+        FxmlBubble(String text, Image img) {
+            try (InputStream in = new ByteArrayInputStream(FXML.getBytes(StandardCharsets.UTF_8))) {
+                FXMLLoader fxmlLoader = new FXMLLoader();
+                fxmlLoader.setLocation(MainWindow.class.getResource("/view/"));
+                fxmlLoader.setController(this);
+                fxmlLoader.setRoot(this);
+                fxmlLoader.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            dialog.setText(text);
+            displayPicture.setImage(img);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            try {
+                run();
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static void run() {
+        Image img = new Image(Objects.requireNonNull(
+                DialogBoxBenchmark.class.getResourceAsStream("/images/cathy_pfp.png")));
+        for (int round = 1; round <= ROUNDS; round++) {
+            long sink = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < BUBBLES; i++) {
+                sink += new FxmlBubble("message " + i, img).hashCode();
+            }
+            long fxmlNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < BUBBLES; i++) {
+                sink += DialogBox.getCathyDialog("message " + i, img).hashCode();
+            }
+            long codeNanos = System.nanoTime() - start;
+
+            System.out.printf("round %d: FXML %8.1f us/bubble, DialogBox %8.1f us/bubble (%d)%n", round,
+                    fxmlNanos / 1e3 / BUBBLES, codeNanos / 1e3 / BUBBLES, sink & 1);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package cathy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import cathy.task.Deadline;
+import cathy.task.Event;
+import cathy.task.Task;
+import cathy.task.TaskList;
+import cathy.task.ToDo;
+
+/**
+ * Measures {@link Ui#showList(TaskList)} over 100k tasks: the first listing, which formats every
+ * task, then repeated listings, which reuse each task's cached string, then a listing right after
+ * every task has been marked done, which reuses only the cached dates.
+ * <pre>{@code
+ * ./gradlew benchmark -PbenchmarkClass=cathy.ListRenderBenchmark
+ * }</pre>
+ */
+public class ListRenderBenchmark {
+    private static final int TASKS = 100_000;
+    private static final int REPEATS = 10;
+
+    public static void main(String[] args) {
+        Ui ui = new Ui();
+        for (int round = 0; round < 3; round++) {
+            ArrayList<Task> seed = new ArrayList<>(TASKS);
+            LocalDateTime start = LocalDateTime.of(2025, 9, 1, 9, 0);
+            for (int i = 0; i < TASKS; i++) {
+                LocalDateTime at = start.plusMinutes(i * 7L);
+                switch (i % 3) {
+                case 0:
+                    seed.add(new ToDo("task " + i));
+                    break;
+                case 1:
+                    seed.add(new Deadline("report " + i, at));
+                    break;
+                default:
+                    seed.add(new Event("meeting " + i, at, at.plusHours(2)));
+                    break;
+                }
+            }
+            TaskList tasks = new TaskList(seed);
+
+            long begin = System.nanoTime();
+            int chars = ui.showList(tasks).length();
+            long firstNanos = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            for (int i = 0; i < REPEATS; i++) {
+                chars += ui.showList(tasks).length();
+            }
+            long repeatNanos = (System.nanoTime() - begin) / REPEATS;
+
+            for (Task t : seed) {
+                t.markAsDone();
+            }
+            begin = System.nanoTime();
+            chars += ui.showList(tasks).length();
+            long markedNanos = System.nanoTime() - begin;
+
+            System.out.printf("round %d: first %7.1f ms, repeated %7.1f ms, after marking %7.1f ms (%d chars)%n",
+                    round + 1, firstNanos / 1e6, repeatNanos / 1e6, markedNanos / 1e6, chars);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package cathy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import cathy.command.FindCommand;
+import cathy.task.TaskList;
+import cathy.task.ToDo;
+
+/**
+ * Tests for {@link LiveSearch}, the search behind the live {@code find} filter.
+ */
+public class LiveSearchTest {
+
+    private static TaskList tasks(int count) {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new ToDo((i % 2 == 0 ? "Write report " : "Buy milk ") + i));
+        }
+        return tasks;
+    }
+
+    @Test
+    void streamsMatchesInBatches() {
+        LiveSearch search = new LiveSearch();
+        List<List<String>> batches = new ArrayList<>();
+        assertTrue(search.run(search.next(), tasks(1000), "REPORT", batches::add));
+
+        assertEquals(List.of(200, 200, 100), batches.stream().map(List::size).toList());
+        assertEquals("[T][ ] Write report 0", batches.get(0).get(0));
+        assertEquals("[T][ ] Write report 998", batches.get(2).get(99));
+    }
+
+    @Test
+    void laterTicketCancelsSearch() {
+        LiveSearch search = new LiveSearch();
+        List<String> found = new ArrayList<>();
+        long ticket = search.next();
+        boolean isDone = search.run(ticket, tasks(10_000), "r", batch -> {
+            found.addAll(batch);
+            search.next(); // a key arrives while the first batch is shown
+        });
+
+        assertFalse(isDone);
+        assertEquals(200, found.size());
+    }
+
+    @Test
+    void longerKeywordSearchesOnlyPreviousMatches() {
+        LiveSearch search = new LiveSearch();
+        TaskList tasks = tasks(10);
+        search.run(search.next(), tasks, "rep", batch -> { });
+        tasks.add(new ToDo("report card"));
+
+        List<String> found = new ArrayList<>();
+        search.run(search.next(), tasks, "repo", found::addAll);
+        assertEquals(5, found.size()); // the new task was not among the matches for "rep"
+
+        search.forget();
+        found.clear();
+        search.run(search.next(), tasks, "repo", found::addAll);
+        assertEquals(6, found.size());
+    }
+
+    @Test
+    void findsWhatFindDoes() {
+        TaskList tasks = new TaskList();
+        tasks.add(new ToDo("read book"));
+        tasks.add(new ToDo("notebook"));
+        tasks.add(new ToDo("Buy milk"));
+
+        for (String keyword : List.of("bo", "BOOK", "k", "ebo", "milk")) {
+            List<String> found = new ArrayList<>();
+            LiveSearch search = new LiveSearch();
+            search.run(search.next(), tasks, keyword, found::addAll);
+            TaskList expected = new FindCommand(keyword).filter(tasks);
+            assertEquals(expected.size(), found.size(), keyword);
+            for (int i = 0; i < found.size(); i++) {
+                assertEquals(expected.get(i).toString(), found.get(i), keyword);
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package cathy;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import cathy.command.AddDeadlineCommand;
+import cathy.command.AddEventCommand;
+import cathy.command.AddToDoCommand;
+import cathy.command.Command;
+import cathy.command.DeleteCommand;
+import cathy.command.ExitCommand;
+import cathy.command.FindCommand;
+import cathy.command.HelpCommand;
+import cathy.command.ListCommand;
+import cathy.command.MarkCommand;
+import cathy.command.OnCommand;
+import cathy.command.ScheduleCommand;
+import cathy.command.TaskRef;
+import cathy.command.UnmarkCommand;
+import cathy.exception.CathyException;
+import cathy.exception.InvalidDateTimeException;
+
+/**
+ * Compares {@link Parser#parse(String)} with the regex-and-substring parser it replaced, for each
+ * kind of command: time per call and bytes allocated per call.
+ * <p>
+ * This is a plain warm-up-then-measure loop rather than a JMH harness, like the other benchmarks
+ * here; run it a few times and compare the steady-state rounds:
+ * <pre>{@code
+ * ./gradlew benchmark -PbenchmarkClass=cathy.ParserBenchmark
+ * }</pre>
+ */
+public class ParserBenchmark {
+    private static final String[] INPUTS = {
+        "list",
+        "todo read the book again",
+        "mark 12",
+        "delete #40",
+        "find book",
+        "deadline submit the report /by 2025-09-10 2359",
+        "event team offsite /from 2025-09-11 0900 /to 2025-09-12 1700",
+    };
+    private static final int ROUNDS = 5;
+    private static final int CALLS = 200_000;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws CathyException {
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.printf("round %d%n%-62s %12s %12s %12s %12s%n", round, "input",
+                    "old ns", "new ns", "old bytes", "new bytes");
+            for (String input : INPUTS) {
+                long[] old = measure(input, true);
+                long[] now = measure(input, false);
+                System.out.printf("%-62s %12.1f %12.1f %12.1f %12.1f%n", input,
+                        (double) old[0] / CALLS, (double) now[0] / CALLS,
+                        (double) old[1] / CALLS, (double) now[1] / CALLS);
+            }
+        }
+    }
+
+    /**
+     * Returns the total nanoseconds and bytes allocated for {@value #CALLS} parses of {@code input}.
+     */
+    private static long[] measure(String input, boolean isBaseline) throws CathyException {
+        long sink = 0;
+        long threadId = Thread.currentThread().getId();
+        long bytes = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            Command c = isBaseline ? Baseline.parse(input) : Parser.parse(input);
+            sink += c.hashCode();
+        }
+        long nanos = System.nanoTime() - start;
+        bytes = THREADS.getThreadAllocatedBytes(threadId) - bytes;
+        if (sink == 42) {
+            System.out.print("");
+        }
+        return new long[] {nanos, bytes};
+    }
+
+    /**
+     * The parser as it was before the index-based tokenizer, kept verbatim for comparison.
+     */
+    private static class Baseline {
+        private static final DateTimeFormatter[] DT_PATTERNS = new DateTimeFormatter[] {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+        };
+
+        static Command parse(String input) throws CathyException {
+            if (input == null) {
+                throw new CathyException("My brain can't read your mind. Type something.");
+            }
+            String trimmed = input.trim();
+            if (trimmed.isEmpty()) {
+                throw new CathyException("My brain can't read your mind. Type something.");
+            }
+
+            // Split into command word and arguments
+            String[] parts = trimmed.split("\\s+", 2);
+            String cmd = parts[0].toLowerCase();
+            String args = parts.length > 1 ? parts[1] : "";
+
+            switch (cmd) {
+            case "bye":
+                return new ExitCommand();
+
+            case "list":
+                return new ListCommand();
+
+            case "todo":
+                return new AddToDoCommand(args);
+
+            case "deadline": {
+                int byIndex = args.indexOf("/by");
+                if (byIndex < 0) {
+                    throw new CathyException("Need '/by'. Try: deadline <desc> /by <date or date time>");
+                }
+
+                String desc = args.substring(0, byIndex).trim();
+                String byStr = args.substring(byIndex + 3).trim();
+                if (desc.isEmpty() || byStr.isEmpty()) {
+                    throw new CathyException("Fill in both description and /by.");
+                }
+
+                ParsedDT p = parseDateTimeOrDate(byStr);
+                LocalDateTime by = p.hasTime()
+                        ? LocalDateTime.of(p.date(), p.time())
+                        : p.date().atTime(23, 59); // default for date-only deadlines
+
+                return new AddDeadlineCommand(desc, by);
+            }
+
+            case "event": {
+                int fromAt = args.indexOf("/from");
+                int toAt = args.indexOf("/to");
+                if (fromAt < 0 || toAt < 0 || toAt < fromAt) {
+                    throw new CathyException("Use: event <desc> /from <date [time]> /to <date [time]>");
+                }
+
+                String desc = args.substring(0, fromAt).trim();
+                String fromStr = args.substring(fromAt + 6, toAt).trim();
+                String toStr = args.substring(toAt + 3).trim();
+                if (desc.isEmpty() || fromStr.isEmpty() || toStr.isEmpty()) {
+                    throw new CathyException("Missing description/from/to.");
+                }
+
+                ParsedDT pf = parseDateTimeOrDate(fromStr);
+                ParsedDT pt = parseDateTimeOrDate(toStr);
+
+                LocalDateTime from = pf.hasTime() ? LocalDateTime.of(pf.date(), pf.time())
+                        : pf.date().atStartOfDay(); // 00:00
+                LocalDateTime to = pt.hasTime() ? LocalDateTime.of(pt.date(), pt.time())
+                        : pt.date().atTime(23, 59); // 23:59
+
+                if (to.isBefore(from)) {
+                    throw new InvalidDateTimeException(
+                            "Wow. You think time flows backwards? Cute.\n"
+                                    + "The /from date has to come *before* the /to date.\n"
+                                    + "Try again when you figure out how calendars work.");
+                }
+
+                return new AddEventCommand(desc, from, to);
+            }
+            case "mark":
+                return new MarkCommand(parseRef(args));
+            case "unmark":
+                return new UnmarkCommand(parseRef(args));
+            case "delete":
+                return new DeleteCommand(parseRef(args));
+            case "on":
+                return new OnCommand(args);
+            case "find":
+                if (parts.length < 2 || parts[1].trim().isEmpty()) {
+                    throw new CathyException("Pro tip: 'find' only works if you give me something to find.");
+                }
+                String keyword = parts[1].trim();
+                return new FindCommand(keyword);
+            case "sch":
+                if (args.isBlank()) {
+                    throw new CathyException("'sch' needs a date, not empty air.\n"
+                            + "Try: sch YYYY-MM-DD or sch today");
+                }
+                LocalDate date;
+                if (args.equals("today")) {
+                    date = LocalDate.now();
+                } else {
+                    date = LocalDate.parse(args.trim().replace("/", "-"));
+                }
+                return new ScheduleCommand(date);
+            case "help":
+                return new HelpCommand();
+            default:
+                throw new CathyException("Hmm... fascinating gibberish.\n"
+                        + "Try again, or type \"help\" to see what I actually understand.");
+            }
+        }
+
+        private static TaskRef parseRef(String args) throws CathyException {
+            String s = args.trim();
+            try {
+                if (s.startsWith("#")) {
+                    return TaskRef.ofId(Long.parseLong(s.substring(1)));
+                }
+                return TaskRef.ofNumber(Integer.parseInt(s));
+            } catch (Exception e) {
+                throw new CathyException("Sweetie, numbers only. This isn't a spelling bee.\n"
+                        + "Use format: [command] [number]");
+            }
+        }
+
+        private static record ParsedDT(LocalDate date, LocalTime time, boolean hasTime) {}
+
+        private static ParsedDT parseDateTimeOrDate(String raw) throws CathyException {
+            String s = raw.trim().replace("/", "-");
+            // Try date+time formats first
+            for (DateTimeFormatter f : DT_PATTERNS) {
+                try {
+                    LocalDateTime dt = LocalDateTime.parse(s, f);
+                    return new ParsedDT(dt.toLocalDate(), dt.toLocalTime(), true);
+                } catch (DateTimeParseException ignored) {
+                    // ignore
+                }
+            }
+            // Fall back to date-only (ISO date)
+            try {
+                LocalDate d = LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE);
+                return new ParsedDT(d, LocalTime.MIDNIGHT, false);
+            } catch (DateTimeParseException e) {
+                throw new CathyException("Nope. '" + raw + "' is not a valid date/time.\n"
+                        + "Try yyyy-MM-dd HHmm, yyyy-MM-dd HH:mm, or just yyyy-MM-dd.");
+            }
+        }
+    }
+}
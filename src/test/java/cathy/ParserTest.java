@@ -13,6 +13,7 @@ import cathy.command.AddToDoCommand;
 import cathy.command.Command;
 import cathy.exception.CathyException;
 import cathy.storage.Storage;
+import cathy.task.Event;
 import cathy.task.TaskList;
 
 /**
@@ -53,9 +54,54 @@ class ParserTest {
         assertEquals(0, tasks.size());
     }
 
+    @Test
+    void markAndDeleteById() throws Exception {
+        var ui = new Ui();
+        var storage = new Storage(tmp.resolve("tasks.txt").toString());
+        var tasks = new TaskList();
+        Parser.parse("todo first").execute(tasks, ui, storage);
+        Parser.parse("todo second").execute(tasks, ui, storage);
+        long id = tasks.get(1).getId();
+
+        Parser.parse("delete 1").execute(tasks, ui, storage);
+        Parser.parse("mark #" + id).execute(tasks, ui, storage);
+        assertEquals("X", tasks.get(0).getStatusIcon());
+        Parser.parse("delete #" + id).execute(tasks, ui, storage);
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    void tokenizerTrimsArgumentsAndIgnoresCommandCase() throws Exception {
+        var ui = new Ui();
+        var storage = new Storage(tmp.resolve("tasks.txt").toString());
+        var tasks = new TaskList();
+
+        Parser.parse("  DeadLine\t submit  report   /by 2025-09-10 2359  ").execute(tasks, ui, storage);
+        Parser.parse("event  team lunch /from 2025-09-11 1200 /to 2025-09-11 1300").execute(tasks, ui, storage);
+
+        assertEquals("submit  report", tasks.get(0).getDescription());
+        assertEquals("team lunch", tasks.get(1).getDescription());
+        assertEquals("2025-09-11T13:00", ((Event) tasks.get(1)).getTo().toString());
+    }
+
+    @Test
+    void malformedFlagsKeepTheirMessages() {
+        assertEquals("Need '/by'. Try: deadline <desc> /by <date or date time>",
+                assertThrows(CathyException.class, () -> Parser.parse("deadline report")).getMessage());
+        assertEquals("Fill in both description and /by.",
+                assertThrows(CathyException.class, () -> Parser.parse("deadline /by 2025-09-10")).getMessage());
+        assertEquals("Use: event <desc> /from <date [time]> /to <date [time]>",
+                assertThrows(CathyException.class, () -> Parser.parse("event x /to a /from b")).getMessage());
+        assertEquals("Missing description/from/to.",
+                assertThrows(CathyException.class, () -> Parser.parse("event x /from/to 2025-09-10")).getMessage());
+        assertEquals("My brain can't read your mind. Type something.",
+                assertThrows(CathyException.class, () -> Parser.parse(" \t ")).getMessage());
+    }
+
     @Test
     void invalidCommand() {
         assertThrows(CathyException.class, () -> Parser.parse("delete"));
         assertThrows(CathyException.class, () -> Parser.parse("mark abc"));
+        assertThrows(CathyException.class, () -> Parser.parse("mark #"));
     }
 }
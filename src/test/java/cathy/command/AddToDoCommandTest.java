@@ -2,6 +2,7 @@ package cathy.command;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.nio.file.Path;
 
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import cathy.Ui;
+import cathy.exception.CathyException;
 import cathy.storage.Storage;
 import cathy.task.TaskList;
 import cathy.task.ToDo;
@@ -42,4 +44,21 @@ class AddToDoCommandTest {
         assertInstanceOf(ToDo.class, list.get(0));
         assertEquals("read book", list.get(0).getDescription());
     }
+
+    @Test
+    void duplicateTodoIsRejectedUntilRemoved() throws Exception {
+        var ui = new Ui();
+        var storage = new Storage(tmp.resolve("tasks.txt").toString());
+        var list = new TaskList();
+
+        new AddToDoCommand("read book").execute(list, ui, storage);
+        assertThrows(CathyException.class, () -> new AddToDoCommand("  Read Book ").execute(list, ui, storage));
+
+        list.set(0, new ToDo("write essay"));
+        new AddToDoCommand("read book").execute(list, ui, storage);
+        list.removeAt(0);
+        assertEquals(1, list.size());
+        new AddToDoCommand("write essay").execute(list, ui, storage);
+        assertEquals(2, list.size());
+    }
 }
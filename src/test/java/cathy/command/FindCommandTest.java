@@ -58,4 +58,78 @@ class FindCommandTest {
         assertThrows(IllegalArgumentException.class, () -> new FindCommand("   "));
         assertThrows(IllegalArgumentException.class, () -> new FindCommand(null));
     }
+
+    @Test
+    void shortKeywordMatchesAnywhere() {
+        TaskList list = new TaskList();
+        list.add(new ToDo("read book"));
+        list.add(new ToDo("bookkeeping"));
+        list.add(new ToDo("notebook"));
+
+        TaskList byShort = new FindCommand("bo").filter(list);
+        assertEquals(3, byShort.size());
+        assertEquals("read book", byShort.get(0).getDescription());
+        assertEquals("bookkeeping", byShort.get(1).getDescription());
+        assertEquals("notebook", byShort.get(2).getDescription());
+
+        TaskList bySubstring = new FindCommand("eb").filter(list);
+        assertEquals(1, bySubstring.size());
+        assertEquals("notebook", bySubstring.get(0).getDescription());
+    }
+
+    @Test
+    void longKeywordMatchesAnywhereThroughTrigrams() {
+        TaskList list = new TaskList();
+        list.add(new ToDo("read book"));
+        list.add(new ToDo("bookkeeping"));
+        list.add(new ToDo("notebook"));
+        list.add(new ToDo("boo kook"));
+
+        assertEquals(3, new FindCommand("BOOK").filter(list).size());
+        assertEquals(0, new FindCommand("ookb").filter(list).size());
+
+        list.removeAt(0);
+        list.set(1, new ToDo("notepad"));
+        TaskList matches = new FindCommand("book").filter(list);
+        assertEquals(1, matches.size());
+        assertEquals("bookkeeping", matches.get(0).getDescription());
+        assertEquals("notepad", new FindCommand("tep").filter(list).get(0).getDescription());
+    }
+
+    @Test
+    void resultsLeaveTaskIdsAlone() {
+        TaskList list = new TaskList();
+        list.add(new ToDo("read book"));
+        list.add(new ToDo("buy milk"));
+        list.add(new ToDo("return book"));
+        long firstId = list.get(0).getId();
+        long lastId = list.get(2).getId();
+
+        TaskList matches = new FindCommand("book").filter(list);
+        ToDo extra = new ToDo("not in the task list");
+        matches.add(extra);
+
+        assertEquals(firstId, matches.get(0).getId());
+        assertEquals(lastId, matches.get(1).getId());
+        assertEquals(0, extra.getId());
+    }
+
+    @Test
+    void shortKeywordFollowsListChanges() {
+        TaskList list = new TaskList();
+        list.add(new ToDo("read book"));
+        list.add(new ToDo("buy milk"));
+        assertEquals(1, new FindCommand("ok").filter(list).size());
+
+        list.set(0, new ToDo("return book"));
+        list.add(new ToDo("read news"));
+        list.removeAt(1);
+
+        assertEquals(0, new FindCommand("mi").filter(list).size());
+        TaskList matches = new FindCommand("RE").filter(list);
+        assertEquals(2, matches.size());
+        assertEquals("return book", matches.get(0).getDescription());
+        assertEquals("read news", matches.get(1).getDescription());
+        assertEquals("return book", new FindCommand("n ").filter(list).get(0).getDescription());
+    }
 }
@@ -43,6 +43,21 @@ public class MarkUnmarkTest {
         assertEquals(" ", list.get(0).getStatusIcon()); // blank means not done
     }
 
+    @Test
+    void markByIdSurvivesEarlierDeletes() throws Exception {
+        var ui = new Ui();
+        var storage = new Storage(tmp.resolve("tasks.txt").toString());
+        var list = new TaskList();
+        list.add(new ToDo("first"));
+        list.add(new ToDo("second"));
+        long id = list.get(1).getId();
+
+        new DeleteCommand(1).execute(list, ui, storage);
+        new MarkCommand(TaskRef.ofId(id)).execute(list, ui, storage);
+        assertEquals("X", list.get(0).getStatusIcon());
+        assertThrows(CathyException.class, () -> new MarkCommand(TaskRef.ofId(id + 1)).execute(list, ui, storage));
+    }
+
     @Test
     void markOutOfRange() {
         var ui = new Ui();
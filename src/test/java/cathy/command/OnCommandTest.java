@@ -0,0 +1,131 @@
+package cathy.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cathy.Ui;
+import cathy.storage.Storage;
+import cathy.task.Deadline;
+import cathy.task.Event;
+import cathy.task.Task;
+import cathy.task.TaskList;
+import cathy.task.ToDo;
+
+/**
+ * Unit tests for the {@link OnCommand} and {@link ScheduleCommand} date lookups.
+ * Verifies that multi-day events and deadlines are found on the right days, in the right order.
+ */
+class OnCommandTest {
+
+    @TempDir
+    Path tmp;
+
+    private static LocalDateTime at(int day, int hour) {
+        return LocalDateTime.of(2025, 9, day, hour, 0);
+    }
+
+    @Test
+    void onListsDatedTasksInListOrder() throws Exception {
+        TaskList list = new TaskList();
+        list.add(new Event("conference", at(1, 9), at(3, 17)));
+        list.add(new ToDo("read book"));
+        list.add(new Deadline("report", at(2, 23)));
+        list.add(new Event("lunch", at(2, 12), at(2, 13)));
+        list.add(new Event("trip", at(4, 8), at(6, 20)));
+
+        String reply = new OnCommand("2025-09-02")
+                .execute(list, new Ui(), new Storage(tmp.resolve("tasks.txt").toString()));
+
+        assertTrue(reply.indexOf("conference") < reply.indexOf("report"));
+        assertTrue(reply.indexOf("report") < reply.indexOf("lunch"));
+        assertEquals(-1, reply.indexOf("trip"));
+        assertEquals(-1, reply.indexOf("read book"));
+    }
+
+    @Test
+    void scheduleOrdersEventsByStartTime() {
+        TaskList list = new TaskList();
+        list.add(new Event("lunch", at(2, 12), at(2, 13)));
+        list.add(new Deadline("report", at(2, 23)));
+        list.add(new Event("conference", at(1, 9), at(3, 17)));
+
+        String reply = new ScheduleCommand(LocalDate.of(2025, 9, 2))
+                .execute(list, new Ui(), new Storage(tmp.resolve("tasks.txt").toString()));
+
+        assertTrue(reply.indexOf("conference") < reply.indexOf("lunch"));
+        assertTrue(reply.indexOf("lunch") < reply.indexOf("report"));
+    }
+
+    @Test
+    void eventIndexMatchesScanAfterChanges() {
+        Random random = new Random(7);
+        TaskList list = new TaskList();
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime from = at(1, 0).plusHours(random.nextInt(60 * 24));
+            list.add(new Event("event " + i, from, from.plusHours(random.nextInt(24 * 5))));
+            if (i % 3 == 0) {
+                list.removeAt(random.nextInt(list.size()));
+            }
+        }
+        list.eventsOn(LocalDate.of(2025, 9, 1));
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime from = at(1, 0).plusHours(random.nextInt(60 * 24));
+            list.set(random.nextInt(list.size()), new Event("moved " + i, from, from.plusHours(30)));
+            list.removeAt(random.nextInt(list.size()));
+        }
+
+        for (int day = 1; day <= 30; day++) {
+            LocalDate date = LocalDate.of(2025, 9, day);
+            List<Task> expected = new ArrayList<>();
+            for (Task t : list.getTasks()) {
+                Event e = (Event) t;
+                if (!date.isBefore(e.getFrom().toLocalDate()) && !date.isAfter(e.getTo().toLocalDate())) {
+                    expected.add(t);
+                }
+            }
+            assertEquals(expected, list.datedOn(date));
+            List<Event> byStart = list.eventsOn(date);
+            assertEquals(expected.size(), byStart.size());
+            for (int i = 1; i < byStart.size(); i++) {
+                assertTrue(!byStart.get(i).getFrom().isBefore(byStart.get(i - 1).getFrom()));
+            }
+        }
+    }
+
+    @Test
+    void deadlineQueriesComeBackInDueOrder() {
+        TaskList list = new TaskList();
+        list.add(new Deadline("c", at(3, 9)));
+        list.add(new Deadline("a", at(1, 9)));
+        list.add(new Event("meeting", at(1, 10), at(1, 11)));
+        list.add(new Deadline("b", at(2, 9)));
+        list.add(new Deadline("a2", at(1, 9)));
+        list.add(new Deadline("d", at(4, 9)));
+
+        assertEquals(List.of("a", "a2"), descriptions(list.deadlinesOn(LocalDate.of(2025, 9, 1))));
+        assertEquals(List.of("a", "a2", "b", "c"), descriptions(list.deadlinesBetween(at(1, 0), at(3, 9))));
+        assertEquals(List.of("b", "c"), descriptions(list.upcomingDeadlines(at(1, 10), 2)));
+
+        list.set(1, new Deadline("a moved", at(5, 9)));
+        list.removeAt(3);
+        assertEquals(List.of("a2", "c", "d", "a moved"), descriptions(list.upcomingDeadlines(at(1, 0), 10)));
+    }
+
+    private static List<String> descriptions(List<? extends Task> tasks) {
+        List<String> out = new ArrayList<>();
+        for (Task t : tasks) {
+            out.add(t.getDescription());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,71 @@
+package cathy.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import cathy.task.TaskList;
+import cathy.task.ToDo;
+
+/**
+ * Measures per-save latency of {@link Storage} under each {@link Durability} policy.
+ * <p>
+ * For every policy it times full saves of a list of {@value #TASKS} tasks and single journal appends,
+ * and prints the median, 99th percentile and mean in microseconds. Results depend heavily on the
+ * file system and device, so run it on the machine you are tuning for:
+ * <pre>{@code
+ * ./gradlew benchmark
+ * }</pre>
+ */
+public class SaveLatencyBenchmark {
+    private static final int TASKS = 1000;
+    private static final int WARMUP = 50;
+    private static final int RUNS = 300;
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("cathy-bench");
+        System.out.printf("%-10s %-12s %10s %10s %10s%n", "policy", "operation", "p50 us", "p99 us", "mean us");
+        for (Durability durability : Durability.values()) {
+            report(durability, "full save", benchSave(dir, durability, false));
+            report(durability, "journal add", benchSave(dir, durability, true));
+        }
+    }
+
+    private static long[] benchSave(Path dir, Durability durability, boolean isJournaled) {
+        Storage storage = new Storage(dir.resolve(durability + "-" + isJournaled + ".txt").toString());
+        storage.setDurability(durability);
+        storage.setJournaled(isJournaled);
+        storage.setCheckpointThreshold(Integer.MAX_VALUE, Long.MAX_VALUE);
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new ToDo("task " + i));
+        }
+        storage.save(tasks);
+
+        long[] nanos = new long[RUNS];
+        for (int i = -WARMUP; i < RUNS; i++) {
+            ToDo t = new ToDo("extra " + i);
+            long start = System.nanoTime();
+            if (isJournaled) {
+                tasks.add(t);
+                storage.saveAdd(tasks, t);
+            } else {
+                storage.save(tasks);
+            }
+            long elapsed = System.nanoTime() - start;
+            if (i >= 0) {
+                nanos[i] = elapsed;
+            }
+        }
+        storage.flush();
+        return nanos;
+    }
+
+    private static void report(Durability durability, String operation, long[] nanos) {
+        Arrays.sort(nanos);
+        double mean = Arrays.stream(nanos).average().orElse(0);
+        System.out.printf("%-10s %-12s %10.1f %10.1f %10.1f%n", durability, operation,
+                nanos[nanos.length / 2] / 1e3, nanos[(int) (nanos.length * 0.99)] / 1e3, mean / 1e3);
+    }
+}
@@ -1,10 +1,15 @@
 package cathy.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -130,4 +135,419 @@ class StorageTest {
 
         assertEquals(0, in.size());
     }
+
+    @Test
+    void journaledChangesAreReplayedOnLoad() {
+        String file = tempDir.resolve("journal.txt").toString();
+        Storage storage = new Storage(file);
+        storage.setJournaled(true);
+
+        TaskList out = new TaskList();
+        out.add(new ToDo("a"));
+        out.add(new ToDo("b"));
+        storage.save(out);
+
+        ToDo c = new ToDo("c");
+        out.add(c);
+        storage.saveAdd(out, c);
+        out.get(1).markAsDone();
+        storage.saveUpdate(out, out.get(1));
+        storage.saveRemove(out, out.removeAt(0));
+
+        Storage reopened = new Storage(file);
+        reopened.setJournaled(true);
+        TaskList in = new TaskList(reopened.load());
+
+        assertEquals(2, in.size());
+        assertEquals("b", in.get(0).getDescription());
+        assertEquals("X", in.get(0).getStatusIcon());
+        assertEquals("c", in.get(1).getDescription());
+    }
+
+    @Test
+    void taskIdsSurviveSaveAndJournalReplay() {
+        String file = tempDir.resolve("ids.txt").toString();
+        Storage storage = new Storage(file);
+        storage.setJournaled(true);
+
+        TaskList out = new TaskList();
+        for (String d : List.of("a", "b", "c", "d")) {
+            out.add(new ToDo(d));
+        }
+        storage.save(out);
+        long idOfC = out.get(2).getId();
+        storage.saveRemove(out, out.removeAt(0));
+        storage.saveRemove(out, out.removeAt(0));
+        Task c = out.getById(idOfC);
+        c.markAsDone();
+        storage.saveUpdate(out, c);
+        ToDo e = new ToDo("e");
+        out.add(e);
+        storage.saveAdd(out, e);
+
+        Storage reopened = new Storage(file);
+        reopened.setJournaled(true);
+        TaskList in = new TaskList(reopened.load());
+
+        assertEquals(3, in.size());
+        assertEquals("X", in.getById(idOfC).getStatusIcon());
+        assertEquals(idOfC, in.get(0).getId());
+        assertEquals(e.getId(), in.get(2).getId());
+    }
+
+    @Test
+    void idsOfDeletedTasksAreNotGivenAgainAfterRestart() {
+        for (StorageFormat format : StorageFormat.values()) {
+            for (LoadMode mode : LoadMode.values()) {
+                String file = tempDir.resolve("lastid-" + format + "-" + mode).toString();
+                Storage storage = new Storage(file);
+                storage.setFormat(format);
+                TaskList out = new TaskList();
+                out.add(new ToDo("a"));
+                out.add(new ToDo("b"));
+                long deletedId = out.removeAt(1).getId();
+                storage.save(out);
+
+                Storage reopened = new Storage(file);
+                reopened.setLoadMode(mode);
+                TaskList in = new TaskList();
+                reopened.loadInto(in);
+                ToDo c = new ToDo("c");
+                in.add(c);
+
+                assertEquals(deletedId + 1, c.getId(), format + " " + mode);
+            }
+        }
+    }
+
+    @Test
+    void journalRecordsWithoutIdsAreSkipped() throws Exception {
+        Path file = tempDir.resolve("positional.txt");
+        Files.write(file, List.of("T#1 | 0 | a", "T#2 | 0 | b"));
+        Files.write(Path.of(file + ".journal"), List.of("1 | U | 1 | T | 1 | b", "2 | D | 0", "3 | D | #1"));
+
+        Storage storage = new Storage(file.toString());
+        storage.setJournaled(true);
+        List<Task> in = storage.load();
+
+        assertEquals(1, in.size());
+        assertEquals("b", in.get(0).getDescription());
+        assertEquals(" ", in.get(0).getStatusIcon());
+    }
+
+    @Test
+    void fullSaveClearsJournal() {
+        Path file = tempDir.resolve("cleared.txt");
+        Storage storage = new Storage(file.toString());
+        storage.setJournaled(true);
+
+        TaskList out = new TaskList();
+        ToDo t = new ToDo("a");
+        out.add(t);
+        storage.saveAdd(out, t);
+        assertTrue(Files.exists(Path.of(file + ".journal")));
+
+        storage.save(out);
+        assertFalse(Files.exists(Path.of(file + ".journal")));
+        assertEquals(1, storage.load().size());
+    }
+
+    @Test
+    void checkpointFoldsJournalIntoBaseFile() throws Exception {
+        Path file = tempDir.resolve("checkpoint.txt");
+        Storage storage = new Storage(file.toString());
+        storage.setJournaled(true);
+        storage.setCheckpointThreshold(3, Long.MAX_VALUE);
+
+        TaskList out = new TaskList();
+        for (int i = 0; i < 5; i++) {
+            ToDo t = new ToDo("task " + i);
+            out.add(t);
+            storage.saveAdd(out, t);
+            storage.awaitCheckpoint();
+        }
+
+        // The first three adds were folded; only the later records remain in the journal.
+        assertEquals(List.of("# seq 3", "# lastId 3"), Files.readAllLines(file).subList(0, 2));
+        assertEquals(5, Files.readAllLines(file).size());
+        assertEquals(2, Files.readAllLines(Path.of(file + ".journal")).size());
+
+        Storage reopened = new Storage(file.toString());
+        reopened.setJournaled(true);
+        TaskList in = new TaskList(reopened.load());
+        assertEquals(5, in.size());
+        assertEquals("task 4", in.get(4).getDescription());
+    }
+
+    @Test
+    void interruptedCheckpointIsRecoveredOnLoad() throws Exception {
+        Path file = tempDir.resolve("crash.txt");
+        Files.write(file, List.of("# seq 1", "T#1 | 0 | a"));
+        // Sealed segment still on disk: record 1 is already in the base file, record 2 is not.
+        Files.write(Path.of(file + ".journal.old"), List.of("1 | A | T#1 | 0 | a", "2 | A | T#2 | 0 | b"));
+        Files.write(Path.of(file + ".journal"), List.of("3 | U | #1 | T#1 | 1 | a"));
+
+        Storage storage = new Storage(file.toString());
+        storage.setJournaled(true);
+        TaskList in = new TaskList(storage.load());
+
+        assertEquals(2, in.size());
+        assertEquals("X", in.get(0).getStatusIcon());
+        assertEquals("b", in.get(1).getDescription());
+        assertFalse(Files.exists(Path.of(file + ".journal.old")));
+        assertFalse(Files.exists(Path.of(file + ".journal")));
+    }
+
+    @Test
+    void binaryFormatRoundTripsAllTaskTypes() {
+        String file = tempDir.resolve("tasks.bin").toString();
+        Storage storage = new Storage(file);
+        storage.setFormat(StorageFormat.BINARY);
+
+        TaskList out = new TaskList();
+        ToDo t = new ToDo("pipes | are | fine");
+        t.markAsDone();
+        out.add(t);
+        out.add(new Deadline("d1", "2025-09-10T23:59"));
+        out.add(new Event("e1", "2025-09-01T14:00", "2025-09-01T15:30"));
+        storage.save(out);
+
+        TaskList in = new TaskList(new Storage(file).load());
+        assertEquals(3, in.size());
+        assertEquals(out.get(2).getId(), in.get(2).getId());
+        assertEquals("pipes | are | fine", in.get(0).getDescription());
+        assertEquals("X", in.get(0).getStatusIcon());
+        assertEquals(((Deadline) out.get(1)).getBy(), ((Deadline) in.get(1)).getBy());
+        assertEquals(((Event) out.get(2)).getFrom(), ((Event) in.get(2)).getFrom());
+        assertEquals(((Event) out.get(2)).getTo(), ((Event) in.get(2)).getTo());
+    }
+
+    @Test
+    void binaryFormatKeepsSecondsAndDatesBefore1970() {
+        String file = tempDir.resolve("seconds.bin").toString();
+        Storage storage = new Storage(file);
+        storage.setFormat(StorageFormat.BINARY);
+
+        TaskList out = new TaskList();
+        out.add(new Deadline("d1", "2025-09-10T23:59:30"));
+        out.add(new Event("e1", "1969-12-31T23:59:01", "1970-01-01T00:00:59"));
+        storage.save(out);
+
+        TaskList in = new TaskList(new Storage(file).load());
+        assertEquals(((Deadline) out.get(0)).getBy(), ((Deadline) in.get(0)).getBy());
+        assertEquals(((Event) out.get(1)).getFrom(), ((Event) in.get(1)).getFrom());
+        assertEquals(((Event) out.get(1)).getTo(), ((Event) in.get(1)).getTo());
+    }
+
+    @Test
+    void binaryFilesMatchWhicheverStoreHoldsTheList() throws Exception {
+        Path fromTree = tempDir.resolve("tree.bin");
+        Path fromColumns = tempDir.resolve("columns.bin");
+        LocalDateTime by = LocalDateTime.of(2025, 9, 10, 23, 59, 30, 500_000_000);
+        for (Path file : List.of(fromTree, fromColumns)) {
+            TaskList out = file == fromTree ? new TaskList() : TaskList.columnar();
+            out.add(new ToDo("t1"));
+            out.add(new Deadline("d1", by));
+            Storage storage = new Storage(file.toString());
+            storage.setFormat(StorageFormat.BINARY);
+            storage.save(out);
+        }
+
+        assertEquals(-1, Files.mismatch(fromTree, fromColumns));
+    }
+
+    @Test
+    void convertTextToBinaryAndBack() throws Exception {
+        Path text = tempDir.resolve("tasks.txt");
+        Path binary = tempDir.resolve("tasks.bin");
+        Path back = tempDir.resolve("back.txt");
+        List<String> lines = List.of("T | 1 | visit museum",
+                "D | 0 | submit | 2025-09-10T00:00",
+                "E | 0 | hackathon | 2025-09-01T00:00 | 2025-09-03T00:00");
+        Files.write(text, lines);
+
+        BinaryTaskCodec.textToBinary(text, binary);
+        BinaryTaskCodec.binaryToText(binary, back);
+
+        assertEquals(lines, Files.readAllLines(back));
+    }
+
+    @Test
+    void blockLoadMatchesBufferedLoad() throws Exception {
+        Path file = tempDir.resolve("block.txt");
+        Files.write(file, List.of("# seq 7",
+                "T | 1 | visit museum",
+                "this line is corrupted",
+                "D | 0 | submit | 2025-09-10T23:59",
+                "D | 0 | legacy | 2025-09-10 2359",
+                "T#12 | 0 | has id",
+                "T# | 0 | missing id",
+                "E | 0 | hackathon | 2025-09-01T00:00 | 2025-09-03T00:00\r"));
+
+        Storage buffered = new Storage(file.toString());
+        Storage block = new Storage(file.toString());
+        block.setLoadMode(LoadMode.BLOCK);
+        List<Task> expected = buffered.load();
+        List<Task> actual = block.load();
+
+        assertEquals(5, actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+        }
+        assertEquals(12, actual.get(3).getId());
+    }
+
+    @Test
+    void blockReaderStreamsTasks() throws Exception {
+        Path file = tempDir.resolve("stream.txt");
+        Files.write(file, List.of("# seq 3", "T | 0 | a", "T | 0 | b"));
+
+        TaskList in = new TaskList();
+        try (BlockTaskReader reader = new BlockTaskReader(file)) {
+            reader.forEachRemaining(in::add);
+            assertEquals(3, reader.getBaseSeq());
+        }
+        assertEquals(2, in.size());
+        assertEquals("b", in.get(1).getDescription());
+    }
+
+    @Test
+    void blockReaderReadsLinesAcrossBlocks() throws Exception {
+        Path file = tempDir.resolve("blocks.txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            lines.add("D | 0 | task " + i + " | 2025-09-10T23:59");
+        }
+        lines.add("T | 0 | " + "x".repeat(BlockTaskReader.BLOCK_SIZE * 3 / 2));
+        lines.add("T | 0 | last");
+        Files.write(file, lines);
+
+        TaskList in = new TaskList();
+        try (BlockTaskReader reader = new BlockTaskReader(file)) {
+            reader.forEachRemaining(in::add);
+        }
+        assertEquals(lines.size(), in.size());
+        for (int i = 0; i < 50_000; i++) {
+            assertEquals("task " + i, in.get(i).getDescription());
+        }
+        assertEquals(BlockTaskReader.BLOCK_SIZE * 3 / 2, in.get(50_000).getDescription().length());
+        assertEquals("last", in.get(50_001).getDescription());
+    }
+
+    @Test
+    void parallelLoadKeepsOrderAcrossChunks() throws Exception {
+        Path file = tempDir.resolve("parallel.txt");
+        List<String> lines = new ArrayList<>();
+        lines.add("# seq 42");
+        for (int i = 0; i < 200_000; i++) {
+            lines.add(i % 1000 == 0 ? "corrupted " + i : "D | 0 | task " + i + " | 2025-09-10T23:59");
+        }
+        Files.write(file, lines);
+
+        Storage storage = new Storage(file.toString());
+        storage.setLoadMode(LoadMode.PARALLEL);
+        List<Task> in = storage.load();
+
+        assertEquals(199_800, in.size());
+        assertEquals("task 1", in.get(0).getDescription());
+        assertEquals("task 199999", in.get(in.size() - 1).getDescription());
+        for (int i = 1; i < in.size(); i++) {
+            int prev = Integer.parseInt(in.get(i - 1).getDescription().substring(5));
+            int curr = Integer.parseInt(in.get(i).getDescription().substring(5));
+            assertTrue(prev < curr);
+        }
+    }
+
+    @Test
+    void nonAsciiDescriptionsLoadAlikeInEveryMode() {
+        String file = tempDir.resolve("unicode.txt").toString();
+        Storage storage = new Storage(file);
+        storage.setJournaled(true);
+        TaskList out = new TaskList();
+        out.add(new ToDo("café crème"));
+        storage.save(out);
+        ToDo journaled = new ToDo("日本語 ✓");
+        out.add(journaled);
+        storage.saveAdd(out, journaled);
+
+        for (LoadMode mode : LoadMode.values()) {
+            Storage reopened = new Storage(file);
+            reopened.setJournaled(true);
+            reopened.setLoadMode(mode);
+            List<Task> in = reopened.load();
+
+            assertEquals(2, in.size());
+            assertEquals("café crème", in.get(0).getDescription());
+            assertEquals("日本語 ✓", in.get(1).getDescription());
+        }
+    }
+
+    @Test
+    void writeBehindChangesAreOnDiskAfterFlush() {
+        String file = tempDir.resolve("behind.txt").toString();
+        Storage storage = new Storage(file);
+        storage.setJournaled(true);
+        storage.setWriteBehind(true);
+        storage.setCheckpointThreshold(10, Long.MAX_VALUE);
+
+        TaskList out = new TaskList();
+        for (int i = 0; i < 25; i++) {
+            ToDo t = new ToDo("task " + i);
+            out.add(t);
+            storage.saveAdd(out, t);
+        }
+        out.get(3).markAsDone();
+        storage.saveUpdate(out, out.get(3));
+        storage.saveRemove(out, out.removeAt(0));
+        storage.flush();
+        storage.awaitCheckpoint();
+
+        Storage reopened = new Storage(file);
+        reopened.setJournaled(true);
+        List<Task> in = reopened.load();
+
+        assertEquals(24, in.size());
+        assertEquals("task 1", in.get(0).getDescription());
+        assertEquals("X", in.get(2).getStatusIcon());
+        assertEquals("task 24", in.get(23).getDescription());
+    }
+
+    @Test
+    void writeBehindFullSavesKeepLatestList() throws Exception {
+        Path file = tempDir.resolve("coalesced.txt");
+        Storage storage = new Storage(file.toString());
+        storage.setWriteBehind(true);
+
+        TaskList out = new TaskList();
+        for (int i = 0; i < 50; i++) {
+            out.add(new ToDo("task " + i));
+            storage.save(out);
+        }
+        storage.setWriteBehind(false);
+
+        assertEquals(51, Files.readAllLines(file).size()); // the tasks and the id header
+        assertEquals(50, new Storage(file.toString()).load().size());
+    }
+
+    @Test
+    void everyDurabilityPolicySavesAtomically() throws Exception {
+        for (Durability durability : Durability.values()) {
+            Path file = tempDir.resolve("durable-" + durability + ".txt");
+            Files.write(file, List.of("T | 0 | old"));
+            Storage storage = new Storage(file.toString());
+            storage.setDurability(durability);
+            storage.setSyncInterval(10);
+
+            TaskList out = new TaskList();
+            out.add(new ToDo("a"));
+            out.add(new Deadline("b", "2025-09-10T23:59"));
+            storage.save(out);
+            storage.flush();
+
+            assertEquals(3, Files.readAllLines(file).size()); // the tasks and the id header
+            assertFalse(Files.exists(Path.of(file + ".tmp")));
+            assertEquals("b", storage.load().get(1).getDescription());
+        }
+    }
 }
@@ -0,0 +1,252 @@
+package cathy.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the columnar {@link TaskList} backend, checked against the default one.
+ */
+class ColumnarTaskStoreTest {
+
+    @TempDir
+    Path tmp;
+
+    private static Task randomTask(Random random, int i) {
+        LocalDateTime start = LocalDateTime.of(2025, 9, 1, 0, 0).plusMinutes(random.nextInt(60 * 24 * 30));
+        String desc = (i % 7 == 0 ? "Café " : "Task ") + i + (random.nextBoolean() ? " Report" : " lunch");
+        switch (random.nextInt(3)) {
+        case 0:
+            return new ToDo(desc);
+        case 1:
+            return new Deadline(desc, start);
+        default:
+            return new Event(desc, start, start.plusMinutes(random.nextInt(60 * 24 * 3)));
+        }
+    }
+
+    private static void assertSameTasks(List<? extends Task> expected, List<? extends Task> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+        }
+    }
+
+    @Test
+    void snapshotIsUnaffectedByLaterChanges() {
+        Random random = new Random(3);
+        TaskList columnar = TaskList.columnar();
+        for (int i = 0; i < 100; i++) {
+            columnar.add(randomTask(random, i));
+        }
+        List<Task> expected = new ArrayList<>(columnar.getTasks());
+        List<Task> snapshot = columnar.snapshot();
+
+        columnar.removeAt(0);
+        columnar.setDone(10, true);
+        columnar.add(new ToDo("later"));
+        assertSameTasks(expected, snapshot);
+    }
+
+    @Test
+    void keepsSecondsAndDatesBefore1970() {
+        TaskList columnar = TaskList.columnar();
+        LocalDateTime by = LocalDateTime.of(2025, 9, 10, 23, 59, 30);
+        LocalDateTime from = LocalDateTime.of(1969, 12, 31, 23, 59, 1);
+        columnar.add(new Deadline("d", by));
+        columnar.add(new Event("e", from, from.plusSeconds(58)));
+
+        assertEquals(by, ((Deadline) columnar.get(0)).getBy());
+        assertEquals(from.plusSeconds(58), ((Event) columnar.get(1)).getTo());
+        assertEquals(1, columnar.deadlinesOn(LocalDate.of(2025, 9, 10)).size());
+        assertEquals(1, columnar.datedOn(LocalDate.of(1969, 12, 31)).size());
+        assertEquals(0, columnar.datedOn(LocalDate.of(1970, 1, 1)).size());
+    }
+
+    @Test
+    void matchesTreeListUnderRandomChanges() {
+        Random random = new Random(42);
+        TaskList tree = new TaskList();
+        TaskList columnar = TaskList.columnar();
+        for (int i = 0; i < 5000; i++) {
+            int op = random.nextInt(10);
+            if (op < 5 || tree.size() == 0) {
+                Task t = randomTask(random, i);
+                tree.add(t);
+                columnar.add(copyOf(t));
+            } else if (op < 7) {
+                int at = random.nextInt(tree.size());
+                assertEquals(tree.removeAt(at).toString(), columnar.removeAt(at).toString());
+            } else if (op < 8) {
+                int at = random.nextInt(tree.size());
+                Task t = randomTask(random, i);
+                tree.set(at, t);
+                columnar.set(at, copyOf(t));
+            } else {
+                int at = random.nextInt(tree.size());
+                boolean isDone = random.nextBoolean();
+                assertEquals(tree.setDone(at, isDone).toString(), columnar.setDone(at, isDone).toString());
+            }
+        }
+
+        assertSameTasks(tree.getTasks(), columnar.getTasks());
+        for (Task t : tree.getTasks()) {
+            assertEquals(tree.indexOfId(t.getId()), columnar.indexOfId(t.getId()));
+            assertEquals(t.toString(), columnar.getById(t.getId()).toString());
+        }
+        assertNull(columnar.getById(Long.MAX_VALUE));
+        assertEquals(-1, columnar.indexOfId(0));
+    }
+
+    @Test
+    void dateQueriesMatchIndexes() {
+        Random random = new Random(3);
+        TaskList tree = new TaskList();
+        TaskList columnar = TaskList.columnar();
+        for (int i = 0; i < 3000; i++) {
+            Task t = randomTask(random, i);
+            tree.add(t);
+            columnar.add(copyOf(t));
+            if (i % 4 == 0) {
+                int at = random.nextInt(tree.size());
+                tree.removeAt(at);
+                columnar.removeAt(at);
+            }
+        }
+
+        for (int day = 1; day <= 31; day++) {
+            LocalDate date = LocalDate.of(2025, 9, 1).plusDays(day);
+            assertSameTasks(tree.datedOn(date), columnar.datedOn(date));
+            assertSameTasks(tree.eventsOn(date), columnar.eventsOn(date));
+            assertSameTasks(tree.deadlinesOn(date), columnar.deadlinesOn(date));
+        }
+        LocalDateTime from = LocalDateTime.of(2025, 9, 10, 12, 0);
+        assertSameTasks(tree.deadlinesBetween(from, from.plusDays(3)),
+                columnar.deadlinesBetween(from, from.plusDays(3)));
+        assertSameTasks(tree.upcomingDeadlines(from, 25), columnar.upcomingDeadlines(from, 25));
+    }
+
+    @Test
+    void substringCandidatesIncludeEveryMatch() {
+        Random random = new Random(5);
+        TaskList columnar = TaskList.columnar();
+        for (int i = 0; i < 2000; i++) {
+            columnar.add(randomTask(random, i));
+        }
+        for (String keyword : List.of("report", "lunch", "café", "k 12", "zzz")) {
+            List<Task> expected = new ArrayList<>();
+            for (Task t : columnar.getTasks()) {
+                if (t.getDescription().toLowerCase(Locale.ROOT).contains(keyword)) {
+                    expected.add(t);
+                }
+            }
+            List<Task> candidates = columnar.findSubstringCandidates(keyword);
+            int next = 0;
+            for (Task t : candidates) {
+                if (next < expected.size() && expected.get(next).getId() == t.getId()) {
+                    next++;
+                }
+            }
+            assertEquals(expected.size(), next);
+        }
+    }
+
+    @Test
+    void duplicateChecksScanColumnsLikeTreeList() {
+        TaskList tree = new TaskList();
+        TaskList columnar = TaskList.offHeap();
+        for (TaskList list : List.of(tree, columnar)) {
+            list.add(new ToDo("  Read Book "));
+            list.add(new ToDo("Café Crème"));
+            list.add(new ToDo("buy milk"));
+            list.removeAt(2);
+        }
+        for (String description : List.of("read book", " READ BOOK", "read boo", "café crème", "CAFÉ CRÈME",
+                "buy milk", "milk")) {
+            assertEquals(tree.containsTask(description), columnar.containsTask(description), description);
+        }
+        assertTrue(columnar.containsTask("read book"));
+        assertFalse(columnar.hasIndex(DescriptionIndex.class));
+    }
+
+    @Test
+    void removingMostTasksKeepsOrderAndIds() {
+        TaskList columnar = TaskList.columnar();
+        for (int i = 0; i < 10000; i++) {
+            columnar.add(new ToDo("task " + i));
+        }
+        for (int i = 0; i < 9000; i++) {
+            columnar.removeAt(i % 2 == 0 ? 0 : columnar.size() - 1);
+        }
+
+        assertEquals(1000, columnar.size());
+        assertEquals("task 4500", columnar.get(0).getDescription());
+        assertEquals("task 5499", columnar.get(999).getDescription());
+        long previous = 0;
+        for (Task t : columnar.getTasks()) {
+            assertTrue(t.getId() > previous);
+            previous = t.getId();
+        }
+        assertEquals(500, columnar.indexOfId(columnar.get(500).getId()));
+    }
+
+    @Test
+    void offHeapListsMatchHeapList() {
+        Random random = new Random(11);
+        TaskList heap = TaskList.columnar();
+        TaskList direct = TaskList.offHeap();
+        TaskList mapped = TaskList.offHeap(tmp);
+        for (int i = 0; i < 3000; i++) {
+            Task t = randomTask(random, i);
+            for (TaskList list : List.of(heap, direct, mapped)) {
+                list.add(copyOf(t));
+            }
+            if (i % 3 == 0) {
+                int at = random.nextInt(heap.size());
+                for (TaskList list : List.of(heap, direct, mapped)) {
+                    list.removeAt(at);
+                }
+            }
+        }
+        direct.setDone(0, true);
+        mapped.setDone(0, true);
+        heap.setDone(0, true);
+
+        assertSameTasks(heap.getTasks(), direct.getTasks());
+        assertSameTasks(heap.getTasks(), mapped.getTasks());
+        LocalDate date = LocalDate.of(2025, 9, 15);
+        assertSameTasks(heap.datedOn(date), mapped.datedOn(date));
+        assertSameTasks(heap.findSubstringCandidates("report"), direct.findSubstringCandidates("report"));
+    }
+
+    /**
+     * Copies a task so that the two lists never share objects.
+     */
+    private static Task copyOf(Task t) {
+        Task copy;
+        if (t instanceof Deadline d) {
+            copy = new Deadline(t.getDescription(), d.getBy());
+        } else if (t instanceof Event e) {
+            copy = new Event(t.getDescription(), e.getFrom(), e.getTo());
+        } else {
+            copy = new ToDo(t.getDescription());
+        }
+        if (t.isDone) {
+            copy.markAsDone();
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,87 @@
+package cathy.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DateTimeParser}, checked against the formatter chain it replaced.
+ */
+class DateTimeParserTest {
+
+    /**
+     * The parsing that {@code Deadline} and {@code Event} used to do: each format in turn, with
+     * exceptions for control flow.
+     */
+    private static LocalDateTime parseWithFormatters(String raw, LocalTime dateOnlyTime) {
+        String s = raw.trim().replace("/", "-");
+        try {
+            return LocalDateTime.parse(s);
+        } catch (Exception ignored) {
+            // ignore
+        }
+        for (String pattern : List.of("yyyy-MM-dd HHmm", "yyyy-MM-dd HH:mm")) {
+            try {
+                return LocalDateTime.parse(s, DateTimeFormatter.ofPattern(pattern));
+            } catch (Exception ignored) {
+                // ignore
+            }
+        }
+        try {
+            return LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE).atTime(dateOnlyTime);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Test
+    void parsesSupportedShapes() {
+        LocalDateTime expected = LocalDateTime.of(2025, 9, 10, 18, 30);
+        assertEquals(expected, DateTimeParser.parse("2025-09-10T18:30", LocalTime.MIDNIGHT));
+        assertEquals(expected, DateTimeParser.parse("2025-09-10 1830", LocalTime.MIDNIGHT));
+        assertEquals(expected, DateTimeParser.parse("  2025/09/10 18:30 ", LocalTime.MIDNIGHT));
+        assertEquals(expected.withSecond(5), DateTimeParser.parse("2025-09-10T18:30:05", LocalTime.MIDNIGHT));
+        assertEquals(LocalDateTime.of(2025, 9, 10, 23, 59),
+                DateTimeParser.parse("2025-09-10", DateTimeParser.END_OF_DAY));
+        assertNull(DateTimeParser.parse("tomorrow", LocalTime.MIDNIGHT));
+        assertNull(DateTimeParser.parse("2025-02-29", LocalTime.MIDNIGHT));
+    }
+
+    @Test
+    void agreesWithFormatterChain() {
+        List<String> inputs = List.of(
+                "2025-09-10", "2024-02-29", "2025-02-29", "2025-13-01", "2025-00-10", "0000-01-01",
+                "2025-09-10T23:59", "2025-09-10t23:59", "2025-09-10T24:00", "2025-09-10T23:60",
+                "2025-09-10T23:59:59", "2025-09-10T23:59:59.5", "2025-09-10T23:59:5", "2025-09-10T2359",
+                "2025-09-10 2359", "2025-09-10 23:59", "2025-09-10 2400", "2025-02-30 1200", "2025-02-30 12:00",
+                "2025-09-10 23-59", "2025-09-10 235", "2025-09-10 2", "2025/09/10 0000", "0000-01-01 1200",
+                "+12025-09-10T10:00", "20250910", "2025-9-10", "2025-09-1O", "", "   ", "2025-09-10x");
+        for (String input : inputs) {
+            for (LocalTime time : List.of(LocalTime.MIDNIGHT, DateTimeParser.END_OF_DAY)) {
+                assertEquals(parseWithFormatters(input, time), DateTimeParser.parse(input, time), input);
+            }
+        }
+    }
+
+    @Test
+    void agreesWithFormatterChainOnEveryMinuteShape() {
+        for (int hour = 0; hour <= 25; hour++) {
+            for (int minute = 0; minute <= 61; minute += 7) {
+                String hh = String.format("%02d", hour);
+                String mm = String.format("%02d", minute);
+                for (String input : List.of("2025-09-10T" + hh + ":" + mm, "2025-09-10 " + hh + mm,
+                        "2025-09-10 " + hh + ":" + mm)) {
+                    assertEquals(parseWithFormatters(input, LocalTime.MIDNIGHT),
+                            DateTimeParser.parse(input, LocalTime.MIDNIGHT), input);
+                }
+            }
+        }
+    }
+}
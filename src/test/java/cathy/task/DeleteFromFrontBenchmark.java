@@ -0,0 +1,40 @@
+package cathy.task;
+
+import java.util.ArrayList;
+
+/**
+ * Measures deleting half of a 500k-task list from the front, the worst case for an array-backed
+ * list, with {@link TaskList} and with a plain {@link ArrayList} for comparison.
+ * <pre>{@code
+ * ./gradlew benchmark -PbenchmarkClass=cathy.task.DeleteFromFrontBenchmark
+ * }</pre>
+ */
+public class DeleteFromFrontBenchmark {
+    private static final int TASKS = 500_000;
+
+    public static void main(String[] args) {
+        for (int round = 0; round < 3; round++) {
+            ArrayList<Task> seed = new ArrayList<>(TASKS);
+            for (int i = 0; i < TASKS; i++) {
+                seed.add(new ToDo("task " + i));
+            }
+
+            TaskList tasks = new TaskList(seed);
+            long start = System.nanoTime();
+            for (int i = 0; i < TASKS / 2; i++) {
+                tasks.removeAt(0);
+            }
+            long treeNanos = System.nanoTime() - start;
+
+            ArrayList<Task> array = new ArrayList<>(seed);
+            start = System.nanoTime();
+            for (int i = 0; i < TASKS / 2; i++) {
+                array.remove(0);
+            }
+            long arrayNanos = System.nanoTime() - start;
+
+            System.out.printf("round %d: TaskList %8.1f ms, ArrayList %8.1f ms (%d left)%n",
+                    round + 1, treeNanos / 1e6, arrayNanos / 1e6, tasks.size());
+        }
+    }
+}
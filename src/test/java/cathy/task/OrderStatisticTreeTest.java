@@ -0,0 +1,99 @@
+package cathy.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link OrderStatisticTree} class.
+ * Verifies that positional operations behave exactly like those of an {@link ArrayList}.
+ */
+class OrderStatisticTreeTest {
+
+    @Test
+    void matchesArrayListUnderRandomEdits() {
+        Random random = new Random(42);
+        List<Integer> initial = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            initial.add(i);
+        }
+        List<Integer> expected = new ArrayList<>(initial);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(initial);
+
+        for (int i = 0; i < 5000; i++) {
+            int op = random.nextInt(4);
+            if (op == 0 || expected.isEmpty()) {
+                int at = random.nextInt(expected.size() + 1);
+                expected.add(at, i);
+                tree.add(at, i);
+            } else if (op == 1) {
+                int at = random.nextInt(expected.size());
+                assertEquals(expected.remove(at), tree.remove(at));
+            } else if (op == 2) {
+                int at = random.nextInt(expected.size());
+                assertEquals(expected.set(at, -i), tree.set(at, -i));
+            } else {
+                int at = random.nextInt(expected.size());
+                assertEquals(expected.get(at), tree.get(at));
+            }
+        }
+        assertEquals(expected, tree);
+        assertEquals(expected, new ArrayList<>(tree));
+    }
+
+    @Test
+    void snapshotsKeepTheirContentsUnderLaterEdits() {
+        Random random = new Random(7);
+        List<Integer> expected = new ArrayList<>();
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>();
+        List<List<Integer>> expectedSnapshots = new ArrayList<>();
+        List<List<Integer>> snapshots = new ArrayList<>();
+
+        for (int i = 0; i < 3000; i++) {
+            int op = random.nextInt(4);
+            if (op == 0 || expected.isEmpty()) {
+                int at = random.nextInt(expected.size() + 1);
+                expected.add(at, i);
+                tree.add(at, i);
+            } else if (op == 1) {
+                int at = random.nextInt(expected.size());
+                assertEquals(expected.remove(at), tree.remove(at));
+            } else {
+                int at = random.nextInt(expected.size());
+                assertEquals(expected.set(at, -i), tree.set(at, -i));
+            }
+            if (i % 100 == 0) {
+                expectedSnapshots.add(new ArrayList<>(expected));
+                snapshots.add(tree.snapshot());
+            }
+        }
+        assertEquals(expected, tree);
+        assertEquals(expectedSnapshots, snapshots);
+        assertThrows(UnsupportedOperationException.class, () -> snapshots.get(0).add(1));
+    }
+
+    @Test
+    void lowerBoundFindsPositionByKey() {
+        OrderStatisticTree<Long> tree = new OrderStatisticTree<>(List.of(2L, 4L, 6L, 8L));
+
+        assertEquals(0, tree.lowerBound(x -> x, 1));
+        assertEquals(1, tree.lowerBound(x -> x, 4));
+        assertEquals(2, tree.lowerBound(x -> x, 5));
+        assertEquals(4, tree.lowerBound(x -> x, 9));
+    }
+
+    @Test
+    void rejectsOutOfRangePositions() {
+        OrderStatisticTree<String> tree = new OrderStatisticTree<>();
+        tree.add("a");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.remove(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.add(3, "b"));
+    }
+}
@@ -0,0 +1,57 @@
+package cathy.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Compares the heap used by default, columnar and off-heap {@link TaskList}s holding the same mix
+ * of to-dos, deadlines and events, and times a day lookup on each.
+ * <pre>{@code
+ * ./gradlew benchmark -PbenchmarkClass=cathy.task.TaskStoreFootprintBenchmark
+ * }</pre>
+ */
+public class TaskStoreFootprintBenchmark {
+    private static final int TASKS = 1_000_000;
+
+    public static void main(String[] args) {
+        report("tree", new TaskList());
+        report("columnar", TaskList.columnar());
+        report("off-heap", TaskList.offHeap());
+    }
+
+    private static void report(String name, TaskList tasks) {
+        long before = usedHeap();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < TASKS; i++) {
+            LocalDateTime at = start.plusMinutes(i * 7L);
+            switch (i % 3) {
+            case 0:
+                tasks.add(new ToDo("task " + i));
+                break;
+            case 1:
+                tasks.add(new Deadline("submit report " + i, at));
+                break;
+            default:
+                tasks.add(new Event("meeting " + i, at, at.plusHours(1)));
+                break;
+            }
+        }
+        long bytes = usedHeap() - before;
+
+        LocalDate day = LocalDate.of(2025, 6, 1);
+        tasks.datedOn(day);
+        long begin = System.nanoTime();
+        int hits = tasks.datedOn(day).size();
+        long nanos = System.nanoTime() - begin;
+        System.out.printf("%-9s %6.1f MB (%5.1f bytes/task), on %s: %d hits in %.1f ms%n",
+                name, bytes / 1e6, (double) bytes / TASKS, day, hits, nanos / 1e6);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,47 @@
+package cathy.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for how tasks render as strings.
+ */
+class TaskTest {
+    private static final LocalDateTime BY = LocalDateTime.of(2025, 9, 10, 23, 59);
+
+    private static String shown(LocalDateTime dt) {
+        return dt.format(Task.DISPLAY_FORMAT);
+    }
+
+    @Test
+    void toStringIsCachedUntilMarked() {
+        Deadline d = new Deadline("return book", BY);
+        String first = d.toString();
+        assertEquals("[D][ ] return book (by: " + shown(BY) + ")", first);
+        assertSame(first, d.toString());
+
+        d.markAsDone();
+        assertEquals("[D][X] return book (by: " + shown(BY) + ")", d.toString());
+        d.markAsNotDone();
+        assertEquals(first, d.toString());
+    }
+
+    @Test
+    void eachTypeRendersItsFields() {
+        Event e = new Event("offsite", "2025-09-11 0900", "2025-09-12");
+        String range = " (from: " + shown(LocalDateTime.of(2025, 9, 11, 9, 0))
+                + " to: " + shown(LocalDateTime.of(2025, 9, 12, 23, 59)) + ")";
+        assertEquals("[E][ ] offsite" + range, e.toString());
+        e.markAsDone();
+        assertEquals("[E][X] offsite" + range, e.toString());
+
+        ToDo t = new ToDo("read");
+        assertEquals("[T][ ] read", t.toString());
+        t.markAsDone();
+        assertEquals("[T][X] read", t.toString());
+    }
+}